@@ -0,0 +1,35 @@
+// Benchmark: allocates linked lists of objects and walks them.
+class Main {
+  public void main() {
+    new Alloc().run(200, 5000);
+  }
+}
+class Node {
+  int val;
+  Node next;
+}
+class Alloc extends Lib {
+  public void run(int rounds, int len) {
+    int total = 0;
+    int r = 0;
+    while (r < rounds) {
+      Node head = null;
+      int i = 0;
+      while (i < len) {
+        Node n = new Node();
+        n.val = i + r;
+        n.next = head;
+        head = n;
+        i++;
+      }
+      Node p = head;
+      while (p != null) {
+        total = (total + p.val) % 1000003;
+        p = p.next;
+      }
+      r++;
+    }
+    printInt(total);
+    printStr("\n");
+  }
+}
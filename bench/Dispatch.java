@@ -0,0 +1,45 @@
+// Benchmark: virtual calls through a small class hierarchy.
+class Main {
+  public void main() {
+    new Dispatch().run(1000000);
+  }
+}
+class Shape {
+  int size;
+  public int area() {
+    return 0;
+  }
+}
+class Square extends Shape {
+  public int area() {
+    return size * size;
+  }
+}
+class Triangle extends Shape {
+  public int area() {
+    return size * size / 2;
+  }
+}
+class Circle extends Shape {
+  public int area() {
+    return 3 * size * size;
+  }
+}
+class Dispatch extends Lib {
+  public void run(int n) {
+    Shape[] shapes = new Shape[3];
+    shapes[0] = new Square();
+    shapes[1] = new Triangle();
+    shapes[2] = new Circle();
+    int i = 0;
+    int total = 0;
+    while (i < n) {
+      Shape s = shapes[i % 3];
+      s.size = i % 100;
+      total = (total + s.area()) % 1000003;
+      i++;
+    }
+    printInt(total);
+    printStr("\n");
+  }
+}
@@ -0,0 +1,19 @@
+// Benchmark: doubly recursive Fibonacci (method calls, frames).
+class Main {
+  public void main() {
+    new Fib().run(27);
+  }
+}
+class Fib extends Lib {
+  public void run(int n) {
+    printInt(fib(n));
+    printStr("\n");
+  }
+  public int fib(int n) {
+    int rtn = n;
+    if (n > 1) {
+      rtn = fib(n - 1) + fib(n - 2);
+    }
+    return rtn;
+  }
+}
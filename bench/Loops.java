@@ -0,0 +1,22 @@
+// Benchmark: nested counting loops with integer arithmetic.
+class Main {
+  public void main() {
+    new Loops().run(3000);
+  }
+}
+class Loops extends Lib {
+  public void run(int n) {
+    int sum = 0;
+    int i = 0;
+    while (i < n) {
+      int j = 0;
+      while (j < n) {
+        sum = (sum + i * j + i / 3) % 1000003;
+        j++;
+      }
+      i++;
+    }
+    printInt(sum);
+    printStr("\n");
+  }
+}
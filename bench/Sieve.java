@@ -0,0 +1,26 @@
+// Benchmark: sieve of Eratosthenes (array reads and writes).
+class Main {
+  public void main() {
+    new Sieve().run(2000000);
+  }
+}
+class Sieve extends Lib {
+  public void run(int n) {
+    boolean[] composite = new boolean[n + 1];
+    int count = 0;
+    int i = 2;
+    while (i <= n) {
+      if (!composite[i]) {
+        count++;
+        int j = i + i;
+        while (j <= n) {
+          composite[j] = true;
+          j = j + i;
+        }
+      }
+      i++;
+    }
+    printInt(count);
+    printStr("\n");
+  }
+}
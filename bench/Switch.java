@@ -0,0 +1,59 @@
+// Benchmark: a switch with breaks inside a loop. Each break leaves only the
+// switch, so the loop runs to the end; the first lines check this.
+class Main {
+  public void main() {
+    new Switch().run(3000000);
+  }
+}
+class Switch extends Lib {
+  public void run(int n) {
+    int i = 0;
+    while (i < 3) {
+      switch (i) {
+        case 0:
+          printStr("zero\n");
+          break;
+        case 1:
+          printStr("one\n");
+          break;
+        default:
+          printStr("other\n");
+      }
+      i++;
+    }
+    switch (n % 2) {
+      case 0:
+        printStr("even\n");
+        break;
+      default:
+        printStr("odd\n");
+    }
+    int[] counts = new int[4];
+    i = 0;
+    while (i < n) {
+      switch (i % 5) {
+        case 0:
+          counts[0] = counts[0] + 1;
+          break;
+        case 1:
+        case 2:
+          counts[1] = counts[1] + 1;
+          break;
+        case 3:
+          counts[2] = counts[2] + 1;
+          // falls through
+        default:
+          counts[3] = counts[3] + 1;
+      }
+      i++;
+    }
+    printInt(counts[0]);
+    printStr(" ");
+    printInt(counts[1]);
+    printStr(" ");
+    printInt(counts[2]);
+    printStr(" ");
+    printInt(counts[3]);
+    printStr("\n");
+  }
+}
@@ -0,0 +1,652 @@
+package arena;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import syntaxtree.*;
+import visitor.Visitor;
+
+/**
+ * a compact, read-only encoding of an AST: a handful of parallel arrays,
+ * indexed by node, instead of an object per node (and per list).
+ *
+ * Nodes are stored in preorder, so a node's first child, if it has any,
+ * immediately follows it, and end(i) -- the index just past node i's
+ * subtree -- is where its next sibling starts. Children come in the order
+ * in which ASTvisitor and TreeWalker visit them. Lists take no entries:
+ * their elements are children of the node that holds the list. Where a
+ * node holds two lists, the kinds tell them apart: a method's formals
+ * are FormalDecls and its statements are not, and the return type and
+ * expression of a MethodDeclNonVoid are its last two children. An absent
+ * subtree is a NULL entry, and a class's superclass name is a NAME child.
+ *
+ * A node takes 8 bytes: an int holding its kind and its data (a
+ * string-pool index, for a node with a name or string, or the value of an
+ * IntegerLiteral), a char for its position, and a char for the size of its
+ * subtree. A position is stored as its distance from the smallest position
+ * in its block of 64 nodes, and each block's smallest position is kept in
+ * an int. The rare values that do not fit are kept on the side. Names and
+ * strings are stored once each, in a pool.
+ *
+ * Only the parser's output is kept: links and other results of semantic
+ * analysis are not. A pass that only needs the parsed structure can walk
+ * the arrays directly with walk, which calls an ArenaHooks at each node in
+ * the same order in which a TreeWalker would call its TraversalHooks on
+ * the object tree. Code that works on AstNode objects, such as the
+ * existing visitors, needs the objects rebuilt. visitClasses rebuilds one
+ * class at a time, and drops it before the next, so that only one class's
+ * objects are alive at once; this suits a visitor that looks at each class
+ * by itself. The semantic phases link nodes across classes (calls to
+ * their methods, types to their declarations), so for them the whole tree
+ * must be rebuilt with toAst.
+ */
+public class ArenaAst {
+
+	private static final int KIND_BITS = 7;
+	private static final int KIND_MASK = (1 << KIND_BITS) - 1;
+	private static final int MAX_DATA = (1 << (32-KIND_BITS)) - 1;
+	private static final char SIZE_ESCAPE = 0xffff; // size is in bigSizes
+
+	// positions are stored relative to the smallest one in their block
+	private static final int POS_BLOCK_BITS = 6;
+	private static final char POS_NONE = 0xffff; // position -1
+	private static final char POS_ESCAPE = 0xfffe; // position is in bigPositions
+
+	// kind code of an IntegerLiteral whose value is in bigInts
+	private static final int BIG_INTEGER_LITERAL = NodeKind.COUNT;
+
+	private final int[] words; // the node's kind and data
+	private final char[] posOffsets; // the node's position, less its block's base
+	private final int[] posBases; // the smallest position in each block
+	private final HashMap<Integer,Integer> bigPositions; // node -> position
+	private final char[] sizes; // the number of nodes in the node's subtree
+	private final HashMap<Integer,Integer> bigSizes; // node -> subtree size
+	private final int[] bigInts; // IntegerLiteral values too large for a word
+	private final String[] strings; // the string pool
+	private final int size; // the number of nodes
+
+	private ArenaAst(Encoder enc) {
+		size = enc.size;
+		words = Arrays.copyOf(enc.words, size);
+		posOffsets = new char[size];
+		posBases = new int[(size >> POS_BLOCK_BITS) + 1];
+		bigPositions = new HashMap<Integer,Integer>();
+		encodePositions(enc.positions);
+		sizes = Arrays.copyOf(enc.sizes, size);
+		bigSizes = enc.bigSizes;
+		bigInts = Arrays.copyOf(enc.bigInts, enc.numBigInts);
+		strings = enc.pool.toArray(new String[enc.pool.size()]);
+	}
+
+	// fills in posBases and posOffsets
+	private void encodePositions(int[] positions) {
+		for (int b = 0; b < posBases.length; b++) {
+			int start = b << POS_BLOCK_BITS;
+			int end = Math.min(size, start + (1 << POS_BLOCK_BITS));
+			int base = Integer.MAX_VALUE;
+			for (int i = start; i < end; i++) {
+				if (positions[i] >= 0) {
+					base = Math.min(base, positions[i]);
+				}
+			}
+			posBases[b] = base;
+			for (int i = start; i < end; i++) {
+				if (positions[i] == -1) {
+					posOffsets[i] = POS_NONE;
+				}
+				else if (positions[i] >= 0 && positions[i] - base < POS_ESCAPE) {
+					posOffsets[i] = (char)(positions[i] - base);
+				}
+				else {
+					posOffsets[i] = POS_ESCAPE;
+					bigPositions.put(i, positions[i]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * encodes an AST
+	 * @param root the root of the tree (usually a Program)
+	 * @return the encoding; node 0 is the root
+	 */
+	public static ArenaAst encode(AstNode root) {
+		Encoder enc = new Encoder();
+		enc.add(root);
+		return new ArenaAst(enc);
+	}
+
+	/************************ accessors ************************/
+
+	/**
+	 * @return the number of nodes
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param i a node index
+	 * @return the node's NodeKind code
+	 */
+	public int kind(int i) {
+		int kind = words[i] & KIND_MASK;
+		return kind == BIG_INTEGER_LITERAL ? NodeKind.INTEGER_LITERAL : kind;
+	}
+
+	/**
+	 * @param i a node index
+	 * @return the node's file position (-1 for NULL and NAME)
+	 */
+	public int pos(int i) {
+		char off = posOffsets[i];
+		if (off == POS_NONE) return -1;
+		if (off == POS_ESCAPE) return bigPositions.get(i);
+		return posBases[i >> POS_BLOCK_BITS] + off;
+	}
+
+	/**
+	 * @param i a node index
+	 * @return the index just past the node's subtree
+	 */
+	public int end(int i) {
+		char sz = sizes[i];
+		return i + (sz == SIZE_ESCAPE ? bigSizes.get(i) : sz);
+	}
+
+	/**
+	 * @param i a node index
+	 * @return the index of the node's first child, or -1 if it has none
+	 */
+	public int firstChild(int i) {
+		return sizes[i] > 1 ? i+1 : -1;
+	}
+
+	/**
+	 * @param i the index of a node that is not the root
+	 * @param parent the index of its parent
+	 * @return the index of the node's next sibling, or -1 if it is the last
+	 */
+	public int nextSibling(int i, int parent) {
+		int next = end(i);
+		return next < end(parent) ? next : -1;
+	}
+
+	/**
+	 * @param i a node index
+	 * @return the number of children the node has
+	 */
+	public int childCount(int i) {
+		int count = 0;
+		int end = end(i);
+		for (int c = i+1; c < end; c = end(c)) {
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * @param i a node index
+	 * @param n a child number
+	 * @return the index of the node's n-th child
+	 */
+	public int child(int i, int n) {
+		int c = i+1;
+		for (; n > 0; n--) {
+			c = end(c);
+		}
+		return c;
+	}
+
+	/**
+	 * @param i the index of a node with a name or string (a declaration,
+	 *  IdentifierType, IdentifierExp, Call, InstVarAccess, StringLiteral or
+	 *  NAME)
+	 * @return the name or string
+	 */
+	public String string(int i) {
+		return strings[words[i] >>> KIND_BITS];
+	}
+
+	/**
+	 * @param i the index of an IntegerLiteral
+	 * @return its value
+	 */
+	public int intValue(int i) {
+		int index = words[i] >>> KIND_BITS;
+		return (words[i] & KIND_MASK) == BIG_INTEGER_LITERAL ? bigInts[index] : index;
+	}
+
+	/**
+	 * @return the number of bytes taken by the arrays (not counting the
+	 *  pooled strings themselves, or the rare values kept in maps)
+	 */
+	public long arrayBytes() {
+		return (long)size*(4+2+2) + 4L*posBases.length + 4L*strings.length +
+			4L*bigInts.length;
+	}
+
+	/************************ walking ************************/
+
+	/**
+	 * walks a subtree depth-first, calling the hooks' pre and post at each
+	 * node. As in a TreeWalker, absent subtrees are skipped; NAME entries
+	 * are skipped too. The walk keeps its own stack, so it allocates nothing per node,
+	 * and the depth of the tree is limited only by the heap.
+	 * @param root the index of the subtree's root
+	 * @param hooks what to call at each node
+	 */
+	public void walk(int root, ArenaHooks hooks) {
+		// the nodes whose children are being walked, and their ends
+		int[] open = new int[32];
+		int[] ends = new int[32];
+		int sp = 0;
+		int i = root;
+		int limit = end(root);
+		while (i < limit || sp > 0) {
+			if (sp > 0 && i >= ends[sp-1]) {
+				// the node's last child is done
+				hooks.post(open[--sp]);
+				continue;
+			}
+			if (kind(i) >= NodeKind.NULL) {
+				// a NULL or NAME entry
+				i++;
+			}
+			else if (hooks.pre(i)) {
+				if (sp == open.length) {
+					open = Arrays.copyOf(open, 2*sp);
+					ends = Arrays.copyOf(ends, 2*sp);
+				}
+				open[sp] = i;
+				ends[sp++] = end(i);
+				i++;
+			}
+			else {
+				hooks.post(i);
+				i = end(i);
+			}
+		}
+	}
+
+	/************************ decoding ************************/
+
+	/**
+	 * rebuilds the whole AST as objects. The new nodes get IDs from the
+	 * current AstContext.
+	 * @return the tree's root
+	 */
+	public AstNode toAst() {
+		return decode(0);
+	}
+
+	/**
+	 * runs a visitor over a Program's classes one at a time: each class is
+	 * rebuilt as objects, visited, and dropped before the next is rebuilt,
+	 * so only one class's objects are alive at once. A class's links to
+	 * other classes (e.g., its superLink) are not set. The new nodes get
+	 * IDs from the current AstContext.
+	 * @param v the visitor
+	 */
+	public void visitClasses(Visitor v) {
+		for (int c = 1; c < end(0); c = end(c)) {
+			decode(c).accept(v);
+		}
+	}
+
+	/**
+	 * rebuilds one subtree as objects. The new nodes get IDs from the
+	 * current AstContext.
+	 * @param i the index of the subtree's root
+	 * @return the AstNode, or null for a NULL entry
+	 */
+	public AstNode decode(int i) {
+		int pos = pos(i);
+		int end = end(i);
+		switch (kind(i)) {
+		case NodeKind.NULL:
+			return null;
+		case NodeKind.PROGRAM:
+			return new Program(pos, decodeElements(i+1, end, new ClassDeclList()));
+		case NodeKind.CLASS_DECL:
+			return new ClassDecl(pos, string(i), string(i+1),
+					decodeElements(i+2, end, new DeclList()));
+		case NodeKind.METHOD_DECL_VOID: {
+			int stmts = endOfFormals(i+1, end);
+			return new MethodDeclVoid(pos, string(i),
+					decodeElements(i+1, stmts, new VarDeclList()),
+					decodeElements(stmts, end, new StatementList()));
+		}
+		case NodeKind.METHOD_DECL_NON_VOID: {
+			// the last two children are the return type and expression
+			int rtnType = child(i, childCount(i) - 2);
+			int stmts = endOfFormals(i+1, rtnType);
+			return new MethodDeclNonVoid(pos, (Type)decode(rtnType), string(i),
+					decodeElements(i+1, stmts, new VarDeclList()),
+					decodeElements(stmts, rtnType, new StatementList()),
+					(Exp)decode(end(rtnType)));
+		}
+		case NodeKind.INST_VAR_DECL:
+			return new InstVarDecl(pos, (Type)decode(i+1), string(i));
+		case NodeKind.FORMAL_DECL:
+			return new FormalDecl(pos, (Type)decode(i+1), string(i));
+		case NodeKind.LOCAL_VAR_DECL:
+			return new LocalVarDecl(pos, (Type)decode(i+1), string(i),
+					(Exp)decode(end(i+1)));
+
+		case NodeKind.INTEGER_TYPE:
+			return new IntegerType(pos);
+		case NodeKind.BOOLEAN_TYPE:
+			return new BooleanType(pos);
+		case NodeKind.VOID_TYPE:
+			return new VoidType(pos);
+		case NodeKind.NULL_TYPE:
+			return new NullType(pos);
+		case NodeKind.IDENTIFIER_TYPE:
+			return new IdentifierType(pos, string(i));
+		case NodeKind.ARRAY_TYPE:
+			return new ArrayType(pos, (Type)decode(i+1));
+
+		case NodeKind.BLOCK:
+			return new Block(pos, decodeElements(i+1, end, new StatementList()));
+		case NodeKind.IF:
+			return new If(pos, (Exp)decode(i+1), (Statement)decode(child(i, 1)),
+					(Statement)decode(child(i, 2)));
+		case NodeKind.WHILE:
+			return new While(pos, (Exp)decode(i+1), (Statement)decode(end(i+1)));
+		case NodeKind.SWITCH:
+			return new Switch(pos, (Exp)decode(i+1),
+					decodeElements(end(i+1), end, new StatementList()));
+		case NodeKind.CASE:
+			return new Case(pos, (Exp)decode(i+1));
+		case NodeKind.DEFAULT:
+			return new Default(pos);
+		case NodeKind.BREAK:
+			return new Break(pos);
+		case NodeKind.ASSIGN:
+			return new Assign(pos, (Exp)decode(i+1), (Exp)decode(end(i+1)));
+		case NodeKind.CALL_STATEMENT:
+			return new CallStatement(pos, (Call)decode(i+1));
+		case NodeKind.LOCAL_DECL_STATEMENT:
+			return new LocalDeclStatement(pos, (LocalVarDecl)decode(i+1));
+
+		case NodeKind.AND:
+			return new And(pos, (Exp)decode(i+1), (Exp)decode(end(i+1)));
+		case NodeKind.OR:
+			return new Or(pos, (Exp)decode(i+1), (Exp)decode(end(i+1)));
+		case NodeKind.EQUALS:
+			return new Equals(pos, (Exp)decode(i+1), (Exp)decode(end(i+1)));
+		case NodeKind.LESS_THAN:
+			return new LessThan(pos, (Exp)decode(i+1), (Exp)decode(end(i+1)));
+		case NodeKind.GREATER_THAN:
+			return new GreaterThan(pos, (Exp)decode(i+1), (Exp)decode(end(i+1)));
+		case NodeKind.PLUS:
+			return new Plus(pos, (Exp)decode(i+1), (Exp)decode(end(i+1)));
+		case NodeKind.MINUS:
+			return new Minus(pos, (Exp)decode(i+1), (Exp)decode(end(i+1)));
+		case NodeKind.TIMES:
+			return new Times(pos, (Exp)decode(i+1), (Exp)decode(end(i+1)));
+		case NodeKind.DIVIDE:
+			return new Divide(pos, (Exp)decode(i+1), (Exp)decode(end(i+1)));
+		case NodeKind.REMAINDER:
+			return new Remainder(pos, (Exp)decode(i+1), (Exp)decode(end(i+1)));
+		case NodeKind.NOT:
+			return new Not(pos, (Exp)decode(i+1));
+		case NodeKind.ARRAY_LENGTH:
+			return new ArrayLength(pos, (Exp)decode(i+1));
+		case NodeKind.ARRAY_LOOKUP:
+			return new ArrayLookup(pos, (Exp)decode(i+1), (Exp)decode(end(i+1)));
+		case NodeKind.CALL:
+			if (pos(i+1) == pos) {
+				// the parser creates a receiver at the call's own position
+				// (an implicit 'this', or 'super') after the arguments; so
+				// does this, so that the nodes get the same IDs
+				ExpList parms = decodeElements(end(i+1), end, new ExpList());
+				return new Call(pos, (Exp)decode(i+1), string(i), parms);
+			}
+			return new Call(pos, (Exp)decode(i+1), string(i),
+					decodeElements(end(i+1), end, new ExpList()));
+		case NodeKind.CAST:
+			return new Cast(pos, (Type)decode(i+1), (Exp)decode(end(i+1)));
+		case NodeKind.INSTANCE_OF:
+			return new InstanceOf(pos, (Exp)decode(i+1), (Type)decode(end(i+1)));
+		case NodeKind.IDENTIFIER_EXP:
+			return new IdentifierExp(pos, string(i));
+		case NodeKind.INST_VAR_ACCESS:
+			return new InstVarAccess(pos, (Exp)decode(i+1), string(i));
+		case NodeKind.INTEGER_LITERAL:
+			return new IntegerLiteral(pos, intValue(i));
+		case NodeKind.STRING_LITERAL:
+			return new StringLiteral(pos, string(i));
+		case NodeKind.NEW_ARRAY:
+			return new NewArray(pos, (Type)decode(i+1), (Exp)decode(end(i+1)));
+		case NodeKind.NEW_OBJECT:
+			return new NewObject(pos, (IdentifierType)decode(i+1));
+		case NodeKind.NULL_LITERAL:
+			return new Null(pos);
+		case NodeKind.TRUE:
+			return new True(pos);
+		case NodeKind.FALSE:
+			return new False(pos);
+		case NodeKind.THIS:
+			return new This(pos);
+		case NodeKind.SUPER:
+			return new Super(pos);
+		default:
+			throw new IllegalStateException("cannot decode "+NodeKind.name(kind(i))+" node");
+		}
+	}
+
+	// the index just past the FormalDecls among the siblings from i to end
+	private int endOfFormals(int i, int end) {
+		while (i < end && kind(i) == NodeKind.FORMAL_DECL) {
+			i = end(i);
+		}
+		return i;
+	}
+
+	// decodes the siblings from i to end into a list
+	@SuppressWarnings("unchecked")
+	private <L extends AstList<?>> L decodeElements(int i, int end, L lst) {
+		for (; i < end; i = end(i)) {
+			((AstList<AstNode>)lst).addElement(decode(i));
+		}
+		return lst;
+	}
+
+	/************************ encoding ************************/
+
+	// builds the arrays in preorder
+	private static class Encoder {
+		int[] words = new int[1024];
+		int[] positions = new int[1024];
+		char[] sizes = new char[1024];
+		HashMap<Integer,Integer> bigSizes = new HashMap<Integer,Integer>();
+		int[] bigInts = new int[16];
+		int numBigInts = 0;
+		int size = 0;
+		HashMap<String,Integer> poolIndex = new HashMap<String,Integer>();
+		java.util.ArrayList<String> pool = new java.util.ArrayList<String>();
+
+		// appends a node with no children yet; returns its index
+		int open(int kind, int pos, int value) {
+			if (size == words.length) {
+				int len = 2*size;
+				words = Arrays.copyOf(words, len);
+				positions = Arrays.copyOf(positions, len);
+				sizes = Arrays.copyOf(sizes, len);
+			}
+			if (value < 0 || value > MAX_DATA) {
+				// only an IntegerLiteral's value can be out of range
+				if (numBigInts == bigInts.length) {
+					bigInts = Arrays.copyOf(bigInts, 2*numBigInts);
+				}
+				bigInts[numBigInts] = value;
+				value = numBigInts++;
+				kind = BIG_INTEGER_LITERAL;
+			}
+			words[size] = value << KIND_BITS | kind;
+			positions[size] = pos;
+			return size++;
+		}
+
+		// marks the end of a node's subtree
+		void close(int i) {
+			int sz = size - i;
+			if (sz < SIZE_ESCAPE) {
+				sizes[i] = (char)sz;
+			}
+			else {
+				sizes[i] = SIZE_ESCAPE;
+				bigSizes.put(i, sz);
+			}
+		}
+
+		void leaf(int kind, int pos, int value) {
+			close(open(kind, pos, value));
+		}
+
+		int intern(String s) {
+			Integer rtnVal = poolIndex.get(s);
+			if (rtnVal == null) {
+				if (pool.size() == MAX_DATA) {
+					throw new IllegalStateException("too many distinct names");
+				}
+				rtnVal = pool.size();
+				pool.add(s);
+				poolIndex.put(s, rtnVal);
+			}
+			return rtnVal;
+		}
+
+		// appends the elements of a list, as children of the node being
+		// added; a missing list is taken to be empty
+		void addElements(AstList<? extends AstNode> lst) {
+			if (lst != null) {
+				for (AstNode elem : lst) {
+					add(elem);
+				}
+			}
+		}
+
+		// appends the subtree rooted at n, or a NULL entry if n is null
+		void add(AstNode n) {
+			if (n == null) {
+				leaf(NodeKind.NULL, -1, 0);
+				return;
+			}
+			int kind = n.kind();
+			int i = open(kind, n.pos, valueOf(n));
+			switch (kind) {
+			case NodeKind.PROGRAM:
+				addElements(((Program)n).classDecls);
+				break;
+			case NodeKind.CLASS_DECL:
+				leaf(NodeKind.NAME, -1, intern(((ClassDecl)n).superName));
+				addElements(((ClassDecl)n).decls);
+				break;
+			case NodeKind.METHOD_DECL_VOID:
+				addElements(((MethodDecl)n).formals);
+				addElements(((MethodDecl)n).stmts);
+				break;
+			case NodeKind.METHOD_DECL_NON_VOID:
+				addElements(((MethodDecl)n).formals);
+				addElements(((MethodDecl)n).stmts);
+				add(((MethodDeclNonVoid)n).rtnType);
+				add(((MethodDeclNonVoid)n).rtnExp);
+				break;
+			case NodeKind.INST_VAR_DECL:
+			case NodeKind.FORMAL_DECL:
+				add(((VarDecl)n).type);
+				break;
+			case NodeKind.LOCAL_VAR_DECL:
+				add(((VarDecl)n).type);
+				add(((LocalVarDecl)n).initExp);
+				break;
+			case NodeKind.ARRAY_TYPE:
+				add(((ArrayType)n).baseType);
+				break;
+			case NodeKind.BLOCK:
+				addElements(((Block)n).stmts);
+				break;
+			case NodeKind.IF:
+				add(((If)n).exp);
+				add(((If)n).trueStmt);
+				add(((If)n).falseStmt);
+				break;
+			case NodeKind.WHILE:
+				add(((While)n).exp);
+				add(((While)n).body);
+				break;
+			case NodeKind.SWITCH:
+				add(((Switch)n).exp);
+				addElements(((Switch)n).stmts);
+				break;
+			case NodeKind.CASE:
+				add(((Case)n).exp);
+				break;
+			case NodeKind.ASSIGN:
+				add(((Assign)n).lhs);
+				add(((Assign)n).rhs);
+				break;
+			case NodeKind.CALL_STATEMENT:
+				add(((CallStatement)n).callExp);
+				break;
+			case NodeKind.LOCAL_DECL_STATEMENT:
+				add(((LocalDeclStatement)n).localVarDecl);
+				break;
+			case NodeKind.AND: case NodeKind.OR: case NodeKind.EQUALS:
+			case NodeKind.LESS_THAN: case NodeKind.GREATER_THAN:
+			case NodeKind.PLUS: case NodeKind.MINUS: case NodeKind.TIMES:
+			case NodeKind.DIVIDE: case NodeKind.REMAINDER:
+				add(((BinExp)n).left);
+				add(((BinExp)n).right);
+				break;
+			case NodeKind.NOT: case NodeKind.ARRAY_LENGTH:
+				add(((UnExp)n).exp);
+				break;
+			case NodeKind.ARRAY_LOOKUP:
+				add(((ArrayLookup)n).arrExp);
+				add(((ArrayLookup)n).idxExp);
+				break;
+			case NodeKind.CALL:
+				add(((Call)n).obj);
+				addElements(((Call)n).parms);
+				break;
+			case NodeKind.CAST:
+				add(((Cast)n).castType);
+				add(((Cast)n).exp);
+				break;
+			case NodeKind.INSTANCE_OF:
+				add(((InstanceOf)n).exp);
+				add(((InstanceOf)n).checkType);
+				break;
+			case NodeKind.INST_VAR_ACCESS:
+				add(((InstVarAccess)n).exp);
+				break;
+			case NodeKind.NEW_ARRAY:
+				add(((NewArray)n).objType);
+				add(((NewArray)n).sizeExp);
+				break;
+			case NodeKind.NEW_OBJECT:
+				add(((NewObject)n).objType);
+				break;
+			default:
+				// no children
+			}
+			close(i);
+		}
+
+		// the data word of a node
+		int valueOf(AstNode n) {
+			if (n instanceof Decl) return intern(((Decl)n).name);
+			if (n instanceof IdentifierType) return intern(((IdentifierType)n).name);
+			if (n instanceof IdentifierExp) return intern(((IdentifierExp)n).name);
+			if (n instanceof Call) return intern(((Call)n).methName);
+			if (n instanceof InstVarAccess) return intern(((InstVarAccess)n).varName);
+			if (n instanceof StringLiteral) return intern(((StringLiteral)n).str);
+			if (n instanceof IntegerLiteral) return ((IntegerLiteral)n).val;
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package arena;
+
+/**
+ * what ArenaAst.walk calls at each node of the tree it walks; the
+ * counterpart of a TreeWalker's TraversalHooks. A node is given by its
+ * index, to be passed to the ArenaAst's accessors.
+ */
+public interface ArenaHooks {
+
+	/**
+	 * called when the walk reaches a node, before its children
+	 * @param i the node's index
+	 * @return whether to walk the node's children
+	 */
+	public boolean pre(int i);
+
+	/**
+	 * called after the node's children have been walked (or skipped)
+	 * @param i the node's index
+	 */
+	public void post(int i);
+}
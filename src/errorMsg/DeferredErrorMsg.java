@@ -0,0 +1,91 @@
+package errorMsg;
+
+import java.util.ArrayList;
+
+/**
+ * an ErrorMsg that only records the messages reported to it, so that work
+ * done on another thread can report errors without touching the shared
+ * ErrorMsg object. The recorded messages are later replayed, in the order
+ * in which they were reported, into the real ErrorMsg, which then applies
+ * its own line numbering, error limit and sink.
+ */
+public class DeferredErrorMsg extends ErrorMsg {
+
+	// a reported message; the line and column are only worked out when it
+	// is replayed
+	private static final class Entry {
+		final int kind; // Diagnostic.ERROR, WARNING or INFO
+		final int pos;
+		final String msg;
+		final String detail;
+
+		Entry(int kind, int pos, String msg, String detail) {
+			this.kind = kind;
+			this.pos = pos;
+			this.msg = msg;
+			this.detail = detail;
+		}
+	}
+
+	// the messages reported so far
+	private ArrayList<Entry> recorded = new ArrayList<Entry>();
+
+	/**
+	 * @param f the name of the file being compiled
+	 */
+	public DeferredErrorMsg(String f) {
+		super(f, (DiagnosticSink)null);
+	}
+
+	@Override
+	public void error(int pos, String msg, String detail) {
+		anyErrors = true;
+		record(Diagnostic.ERROR, pos, msg, detail);
+	}
+
+	@Override
+	public void warning(int pos, String msg) {
+		record(Diagnostic.WARNING, pos, msg, null);
+	}
+
+	@Override
+	public void info(String s) {
+		record(Diagnostic.INFO, -1, s, null);
+	}
+
+	@Override
+	public void flush() {
+	}
+
+	/**
+	 * @return the number of messages recorded
+	 */
+	public int size() {
+		return recorded.size();
+	}
+
+	/**
+	 * reports the recorded messages to another ErrorMsg object. This may
+	 * throw TooManyErrorsException, just as reporting them directly would.
+	 * @param target the ErrorMsg that receives the messages
+	 */
+	public void replayTo(ErrorMsg target) {
+		for (Entry e : recorded) {
+			switch (e.kind) {
+				case Diagnostic.ERROR:
+					target.error(e.pos, e.msg, e.detail);
+					break;
+				case Diagnostic.WARNING:
+					target.warning(e.pos, e.msg);
+					break;
+				default:
+					target.info(e.msg);
+					break;
+			}
+		}
+	}
+
+	private void record(int kind, int pos, String msg, String detail) {
+		recorded.add(new Entry(kind, pos, msg, detail));
+	}
+}
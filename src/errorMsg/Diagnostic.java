@@ -0,0 +1,71 @@
+package errorMsg;
+
+/**
+ * a single error, warning or informational message. The text is kept in
+ * two parts (a fixed message and an optional detail, typically a name)
+ * that are only joined when a sink actually writes the message.
+ */
+public class Diagnostic {
+
+	public static final int ERROR = 0;
+	public static final int WARNING = 1;
+	public static final int INFO = 2;
+
+	public final int kind; // ERROR, WARNING or INFO
+	public final String fileName; // null for INFO messages
+	public final int pos; // file position; -1 if none
+	public final int line; // 1-based line number; 0 if unknown
+	public final int column; // 1-based column; 0 if unknown
+	private final String msg;
+	private final String detail;
+
+	Diagnostic(int kind, String fileName, int pos, int line, int column,
+			String msg, String detail) {
+		this.kind = kind;
+		this.fileName = fileName;
+		this.pos = pos;
+		this.line = line;
+		this.column = column;
+		this.msg = msg;
+		this.detail = detail;
+	}
+
+	/**
+	 * @return the message text, without position information
+	 */
+	public String message() {
+		return detail == null ? msg : msg + detail;
+	}
+
+	/**
+	 * @return the name of the message's kind
+	 */
+	public String kindName() {
+		switch (kind) {
+			case ERROR: return "error";
+			case WARNING: return "warning";
+			default: return "info";
+		}
+	}
+
+	/**
+	 * appends the message in the compiler's traditional text form, e.g.,
+	 * "Foo.java::12.5: Undefined variable name: x"
+	 * @param sb the buffer to append to
+	 */
+	public void appendText(StringBuilder sb) {
+		if (kind != INFO) {
+			sb.append(fileName).append("::").append(line).append('.').append(column);
+			if (kind == WARNING) sb.append("(warning)");
+			sb.append(": ");
+		}
+		sb.append(msg);
+		if (detail != null) sb.append(detail);
+	}
+
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		appendText(sb);
+		return sb.toString();
+	}
+}
@@ -0,0 +1,22 @@
+package errorMsg;
+
+/**
+ * a destination for the diagnostics reported through an ErrorMsg object.
+ * A sink may be shared by several ErrorMsg objects (e.g., the scanner's and
+ * the parser's), possibly on different threads, so implementations must be
+ * thread-safe.
+ */
+public interface DiagnosticSink {
+
+	/**
+	 * records a diagnostic. Sinks may buffer; the message is guaranteed to
+	 * be written only after the next flush.
+	 * @param d the diagnostic
+	 */
+	public void report(Diagnostic d);
+
+	/**
+	 * writes out any buffered diagnostics
+	 */
+	public void flush();
+}
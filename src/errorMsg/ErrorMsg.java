@@ -3,23 +3,64 @@ package errorMsg;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
 import terminal.*;
 
 public class ErrorMsg {
 	
-	private LineList linePos = new LineList(-1,null);
-	private int lineNum=1;
+	// lineStarts[i] is the position of the newline that ends line i (with
+	// lineStarts[0] == -1, standing for the start of the file), so that a
+	// position on line n has its column measured from lineStarts[n-1]
+	private int[] lineStarts = initLineStarts();
+	private int lineCount = 1; // number of entries used in lineStarts
 	private String filename;
 	public boolean anyErrors;
+	private int errorCount;
+	private int maxErrors; // stop after this many errors; 0 means no limit
 	private boolean doFrame;
+	private DiagnosticSink sink; // where messages go when there is no frame
 	GuiTerminal2 terminal;
 	
 	
 	public ErrorMsg(String f) {
+		this(f, System.err);
+	}
+	
+	public ErrorMsg(String f, PrintStream o) {
+		this(f, new TextDiagnosticSink(o));
+	}
+	
+	public ErrorMsg(String f, DiagnosticSink s) {
 		filename=f;
+		sink = s;
 		doFrame = false;
 	}
 	
+	public DiagnosticSink getSink() {
+		return sink;
+	}
+	
+	/**
+	 * sets the number of errors after which error() throws
+	 * TooManyErrorsException
+	 * @param n the limit; 0 means no limit
+	 */
+	public void setMaxErrors(int n) {
+		maxErrors = n;
+	}
+	
+	public int errorCount() {
+		return errorCount;
+	}
+	
+	/**
+	 * writes out any diagnostics buffered by the sink
+	 */
+	public void flush() {
+		sink.flush();
+	}
+	
 	public String getFileName() {
 		return filename;
 	}
@@ -37,43 +78,127 @@ public class ErrorMsg {
 	}
 	
 	public void newline(int pos) {
-		lineNum++;
-		linePos = new LineList(pos,linePos);
+		// positions arrive in increasing order; one at or before the last
+		// known newline has already been registered by prescanLines
+		if (pos <= lineStarts[lineCount-1]) return;
+		if (lineCount == lineStarts.length) {
+			int[] newStarts = new int[lineStarts.length*2];
+			System.arraycopy(lineStarts, 0, newStarts, 0, lineCount);
+			lineStarts = newStarts;
+		}
+		lineStarts[lineCount++] = pos;
+	}
+	
+	/**
+	 * registers all line breaks in the source text up front, so that
+	 * positions can be resolved before the parser reaches them. A line
+	 * ends with '\n', "\r\n" or a lone '\r', matching the positions that
+	 * the scanner reports.
+	 * @param src the source text; its position is not changed
+	 */
+	public void prescanLines(ByteBuffer src) {
+		int limit = src.limit();
+		for (int i = src.position(); i < limit; i++) {
+			byte b = src.get(i);
+			if (b == '\n' || (b == '\r' && (i+1 >= limit || src.get(i+1) != '\n'))) {
+				newline(i);
+			}
+		}
 	}
 	
 	public void error(int pos, String msg) {
-		msgOut(filename + "::" + lineAndChar(pos) + ": " + msg);
+		error(pos, msg, null);
+	}
+	
+	/**
+	 * reports an error whose message is msg followed by detail; the two are
+	 * only concatenated if the message is actually written
+	 * @param pos the file position
+	 * @param msg the message
+	 * @param detail text to append to the message (e.g., a name), or null
+	 */
+	public void error(int pos, String msg, String detail) {
 		anyErrors = true;
+		errorCount++;
+		msgOut(Diagnostic.ERROR, pos, msg, detail);
+		if (maxErrors > 0 && errorCount >= maxErrors) {
+			TooManyErrorsException tmx = new TooManyErrorsException(errorCount);
+			info(tmx.getMessage());
+			flush();
+			throw tmx;
+		}
 	}
 	
 	public void warning(int pos, String msg) {
-		msgOut(filename + "::" + lineAndChar(pos) + "(warning): "
-				+ msg);
+		msgOut(Diagnostic.WARNING, pos, msg, null);
 	}
 	
 	public void info(String s) {
-		msgOut(s);
+		msgOut(Diagnostic.INFO, -1, s, null);
 	}
 	
 	public String lineAndChar(int pos) {
-		int n = lineNum;
-		LineList p = linePos;
-		while (p!=null) {
-			if (p.head<pos) {
-				return String.valueOf(n) + "." + String.valueOf(pos-p.head);
+		int idx = lineIndex(pos);
+		if (idx < 0) return "0.0";
+		return String.valueOf(idx+1) + "." + String.valueOf(pos-lineStarts[idx]);
+	}
+	
+	/**
+	 * @param pos a file position
+	 * @return the (1-based) line number of the position, or 0 if unknown
+	 */
+	public int line(int pos) {
+		return lineIndex(pos) + 1;
+	}
+	
+	/**
+	 * @param pos a file position
+	 * @return the (1-based) column of the position, or 0 if unknown
+	 */
+	public int column(int pos) {
+		int idx = lineIndex(pos);
+		return idx < 0 ? 0 : pos - lineStarts[idx];
+	}
+	
+	// binary search for the last line start before pos; -1 if none
+	private int lineIndex(int pos) {
+		int lo = 0;
+		int hi = lineCount - 1;
+		if (lineStarts[lo] >= pos) return -1;
+		while (lo < hi) {
+			int mid = (lo + hi + 1) >>> 1;
+			if (lineStarts[mid] < pos) {
+				lo = mid;
+			}
+			else {
+				hi = mid - 1;
 			}
-			p=p.tail; n--;
 		}
-		return "0.0";
+		return lo;
 	}
 	
-	private void msgOut(String s) {
+	private static int[] initLineStarts() {
+		int[] rtnVal = new int[1024];
+		rtnVal[0] = -1;
+		return rtnVal;
+	}
+	
+	private void msgOut(int kind, int pos, String msg, String detail) {
+		Diagnostic d;
+		if (kind == Diagnostic.INFO) {
+			d = new Diagnostic(kind, null, -1, 0, 0, msg, detail);
+		}
+		else {
+			int idx = lineIndex(pos);
+			d = new Diagnostic(kind, filename, pos, idx+1,
+					idx < 0 ? 0 : pos-lineStarts[idx], msg, detail);
+		}
 		createFrameIfNeeded();
 		if (terminal == null) {
-			System.err.println(s);
+			sink.report(d);
 		}
 		else {
-			terminal.println(s);
+			terminal.println(d.toString());
 		}
 	}
 	
@@ -81,12 +206,4 @@ public class ErrorMsg {
 		createFrameIfNeeded();
 		return terminal;
 	}
-}  
-
-class LineList {
-	int head;
-	LineList tail;
-	LineList(int h, LineList t) {head=h; tail=t;}
 }
-
-
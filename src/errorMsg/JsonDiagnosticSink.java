@@ -0,0 +1,75 @@
+package errorMsg;
+
+import java.io.*;
+
+/**
+ * a sink that writes each diagnostic as one JSON object per line, e.g.
+ * <pre>
+ * {"file":"Foo.java","line":12,"column":5,"severity":"error","message":"Undefined variable name: x"}
+ * </pre>
+ * Informational messages have no "file", "line" or "column" members.
+ */
+public class JsonDiagnosticSink implements DiagnosticSink {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private Writer out;
+	private StringBuilder line = new StringBuilder(160);
+
+	public JsonDiagnosticSink(OutputStream os) {
+		out = new BufferedWriter(new OutputStreamWriter(os), BUFFER_SIZE);
+	}
+
+	public synchronized void report(Diagnostic d) {
+		line.setLength(0);
+		line.append('{');
+		if (d.kind != Diagnostic.INFO) {
+			line.append("\"file\":");
+			appendString(line, d.fileName);
+			line.append(",\"line\":").append(d.line);
+			line.append(",\"column\":").append(d.column).append(',');
+		}
+		line.append("\"severity\":\"").append(d.kindName()).append("\",\"message\":");
+		appendString(line, d.message());
+		line.append('}').append(System.lineSeparator());
+		try {
+			out.append(line);
+		}
+		catch (IOException iox) {
+		}
+	}
+
+	public synchronized void flush() {
+		try {
+			out.flush();
+		}
+		catch (IOException iox) {
+		}
+	}
+
+	private static void appendString(StringBuilder sb, String s) {
+		if (s == null) {
+			sb.append("null");
+			return;
+		}
+		sb.append('"');
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			switch (c) {
+				case '"': sb.append("\\\""); break;
+				case '\\': sb.append("\\\\"); break;
+				case '\n': sb.append("\\n"); break;
+				case '\r': sb.append("\\r"); break;
+				case '\t': sb.append("\\t"); break;
+				default:
+					if (c < 0x20) {
+						sb.append(String.format("\\u%04x", (int)c));
+					}
+					else {
+						sb.append(c);
+					}
+			}
+		}
+		sb.append('"');
+	}
+}
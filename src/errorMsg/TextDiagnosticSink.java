@@ -0,0 +1,39 @@
+package errorMsg;
+
+import java.io.*;
+
+/**
+ * a sink that writes diagnostics as text lines in the compiler's
+ * traditional format, through a buffer that is emptied on flush
+ */
+public class TextDiagnosticSink implements DiagnosticSink {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private Writer out;
+	private StringBuilder line = new StringBuilder(128);
+
+	public TextDiagnosticSink(OutputStream os) {
+		out = new BufferedWriter(new OutputStreamWriter(os), BUFFER_SIZE);
+	}
+
+	public synchronized void report(Diagnostic d) {
+		line.setLength(0);
+		d.appendText(line);
+		line.append(System.lineSeparator());
+		try {
+			out.append(line);
+		}
+		catch (IOException iox) {
+			// nowhere left to report the problem
+		}
+	}
+
+	public synchronized void flush() {
+		try {
+			out.flush();
+		}
+		catch (IOException iox) {
+		}
+	}
+}
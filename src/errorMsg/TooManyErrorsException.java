@@ -0,0 +1,12 @@
+package errorMsg;
+
+/**
+ * thrown by ErrorMsg when the configured maximum number of errors has been
+ * reported, to abandon the rest of the current phase
+ */
+public class TooManyErrorsException extends RuntimeException {
+
+	public TooManyErrorsException(int count) {
+		super("Too many errors ("+count+"); compilation stopped.");
+	}
+}
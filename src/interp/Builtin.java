@@ -0,0 +1,77 @@
+package interp;
+
+/**
+ * codes for the predefined methods (see visitor.PredefinedClasses), whose
+ * bodies are dummies; the interpreter implements them itself
+ */
+final class Builtin {
+
+	static final int NONE = 0; // not predefined
+
+	static final int OBJECT_HASH_CODE = 1;
+	static final int OBJECT_EQUALS = 2;
+	static final int OBJECT_TO_STRING = 3;
+
+	static final int LIB_READ_LINE = 4;
+	static final int LIB_READ_INT = 5;
+	static final int LIB_READ_CHAR = 6;
+	static final int LIB_PRINT_STR = 7;
+	static final int LIB_PRINT_BOOL = 8;
+	static final int LIB_PRINT_INT = 9;
+	static final int LIB_INT_TO_STRING = 10;
+	static final int LIB_INT_TO_CHAR = 11;
+
+	static final int STRING_HASH_CODE = 12;
+	static final int STRING_EQUALS = 13;
+	static final int STRING_TO_STRING = 14;
+	static final int STRING_CONCAT = 15;
+	static final int STRING_SUBSTRING = 16;
+	static final int STRING_LENGTH = 17;
+	static final int STRING_CHAR_AT = 18;
+	static final int STRING_COMPARE_TO = 19;
+
+	private Builtin() {
+	}
+
+	/**
+	 * @param className the name of a predefined class
+	 * @param methName the name of one of its methods
+	 * @return the method's code, or NONE if there is no such method
+	 */
+	static int lookup(String className, String methName) {
+		switch (className) {
+			case "Object":
+				switch (methName) {
+					case "hashCode": return OBJECT_HASH_CODE;
+					case "equals": return OBJECT_EQUALS;
+					case "toString": return OBJECT_TO_STRING;
+				}
+				break;
+			case "Lib":
+				switch (methName) {
+					case "readLine": return LIB_READ_LINE;
+					case "readInt": return LIB_READ_INT;
+					case "readChar": return LIB_READ_CHAR;
+					case "printStr": return LIB_PRINT_STR;
+					case "printBool": return LIB_PRINT_BOOL;
+					case "printInt": return LIB_PRINT_INT;
+					case "intToString": return LIB_INT_TO_STRING;
+					case "intToChar": return LIB_INT_TO_CHAR;
+				}
+				break;
+			case "String":
+				switch (methName) {
+					case "hashCode": return STRING_HASH_CODE;
+					case "equals": return STRING_EQUALS;
+					case "toString": return STRING_TO_STRING;
+					case "concat": return STRING_CONCAT;
+					case "substring": return STRING_SUBSTRING;
+					case "length": return STRING_LENGTH;
+					case "charAt": return STRING_CHAR_AT;
+					case "compareTo": return STRING_COMPARE_TO;
+				}
+				break;
+		}
+		return NONE;
+	}
+}
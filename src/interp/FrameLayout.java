@@ -0,0 +1,74 @@
+package interp;
+
+import syntaxtree.*;
+import visitor.*;
+
+/**
+ * assigns each formal parameter and local variable of a method its slot
+ * in the method's frame (its 'offset'). As with instance variables, int
+ * and boolean variables are numbered in one sequence and all others in
+ * another. Every declaration in the method gets a slot of its own, so
+ * slots are not reused between blocks. Only statements can declare
+ * variables, so the layout goes through a method's statements and never
+ * into its expressions.
+ */
+final class FrameLayout extends KindDispatcher {
+
+	private MethodInfo info; // the method being laid out
+
+	/**
+	 * lays out a method's frame
+	 * @param m the method
+	 * @param info where to record the frame's size
+	 */
+	void layOut(MethodDecl m, MethodInfo info) {
+		this.info = info;
+		for (VarDecl v : m.formals) {
+			assign(v);
+		}
+		dispatchAll(m.stmts);
+		this.info = null;
+	}
+
+	@Override
+	protected Object visitBlock(Block n) {
+		dispatchAll(n.stmts);
+		return null;
+	}
+
+	@Override
+	protected Object visitIf(If n) {
+		dispatch(n.trueStmt);
+		if (n.falseStmt != null) {
+			dispatch(n.falseStmt);
+		}
+		return null;
+	}
+
+	@Override
+	protected Object visitWhile(While n) {
+		dispatch(n.body);
+		return null;
+	}
+
+	@Override
+	protected Object visitSwitch(Switch n) {
+		dispatchAll(n.stmts);
+		return null;
+	}
+
+	@Override
+	protected Object visitLocalDeclStatement(LocalDeclStatement n) {
+		assign(n.localVarDecl);
+		return null;
+	}
+
+	private void assign(VarDecl v) {
+		if (Interpreter.isData(v.type)) {
+			v.offset = info.numInts++;
+		}
+		else {
+			v.offset = info.numRefs++;
+		}
+	}
+}
@@ -0,0 +1,669 @@
+package interp;
+
+import java.io.*;
+import syntaxtree.*;
+import visitor.*;
+
+/**
+ * runs a program that has passed all the semantic phases, by walking its
+ * AST, starting with the Program's main statement.
+ *
+ * Everything is resolved before the program runs, so nothing is looked up
+ * by name: a variable is accessed through its offset (see Sem5Visitor and
+ * FrameLayout), and a call is dispatched through its method's v-table
+ * slot. Values are not boxed. int and boolean values (booleans as 0 or 1)
+ * are computed by evalInt and kept in int arrays: a frame's int slots, an
+ * object's data variables, or an int[]. References are computed by
+ * evalRef and kept in Object arrays. A reference is an ObjectValue, a
+ * java.lang.String (for a MiniJava String), an int[] (for an array of int
+ * or boolean), an Object[] (for any other array), or null. Each
+ * expression's static type says which of the two evaluators applies.
+ *
+ * The predefined methods of Object, Lib and String are implemented here
+ * (see Builtin). Arrays do not record their element class, so a cast or
+ * instanceof test against an array type only checks whether the array
+ * holds ints or references.
+ *
+ * Calls in the program use Java calls in the interpreter, so very deep
+ * recursion in the program is reported as a stack overflow.
+ */
+public class Interpreter {
+
+	private final Program program;
+	private final GlobalSymTab globalSymTab;
+	private final ClassHierarchy hierarchy;
+	private final ClassDecl objectClass;
+	private final ClassDecl stringClass;
+
+	private final BufferedReader in; // for Lib's read methods
+	private final PrintStream out; // for Lib's print methods
+
+	// frame sizes and builtin codes, computed on a method's first call
+	private final NodeAttribute<MethodInfo> methodInfo;
+	private final FrameLayout frameLayout = new FrameLayout();
+
+	// the variables of a method activation
+	private static final class Frame {
+		final int[] ints; // int and boolean formals and locals
+		final Object[] refs; // other formals and locals
+		final ObjectValue thisObj; // null in the main statement
+
+		Frame(MethodInfo info, ObjectValue thisObj) {
+			this.ints = new int[info.numInts];
+			this.refs = new Object[info.numRefs];
+			this.thisObj = thisObj;
+		}
+	}
+
+	/**
+	 * constructor
+	 * @param program the program, which has passed semantic phases 1-5
+	 * @param globalSymTab the program's class table
+	 * @param in the program's standard input
+	 * @param out the program's standard output; it is written through a
+	 *  buffer that is flushed when the program ends
+	 */
+	public Interpreter(Program program, GlobalSymTab globalSymTab,
+			InputStream in, OutputStream out) {
+		this.program = program;
+		this.globalSymTab = globalSymTab;
+		this.hierarchy = globalSymTab.hierarchy();
+		this.objectClass = globalSymTab.get("Object");
+		this.stringClass = globalSymTab.get("String");
+		this.in = new BufferedReader(new InputStreamReader(in));
+		this.out = new PrintStream(new BufferedOutputStream(out, 1 << 16), false);
+		this.methodInfo = new NodeAttribute<MethodInfo>(AstContext.current());
+	}
+
+	/**
+	 * runs the program
+	 * @throws RuntimeError if the program fails
+	 */
+	public void run() {
+		try {
+			exec(program.mainStatement, new Frame(new MethodInfo(), null));
+		}
+		catch (StackOverflowError sox) {
+			throw new RuntimeError(-1, "stack overflow");
+		}
+		finally {
+			out.flush();
+		}
+	}
+
+	/**
+	 * @param t a type
+	 * @return whether values of the type are kept as ints (i.e., whether
+	 *  it is int or boolean)
+	 */
+	static boolean isData(Type t) {
+		return t instanceof IntegerType || t instanceof BooleanType;
+	}
+
+	/*************** statements ****************/
+
+	// executes a statement; returns the statement that a break in it
+	// leaves, or null if it completed normally
+	private BreakTarget exec(Statement s, Frame f) {
+		switch (s.kind()) {
+		case NodeKind.BLOCK:
+			return execList(((Block)s).stmts, f);
+		case NodeKind.IF: {
+			If st = (If)s;
+			if (evalInt(st.exp, f) != 0) {
+				return exec(st.trueStmt, f);
+			}
+			else if (st.falseStmt != null) {
+				return exec(st.falseStmt, f);
+			}
+			return null;
+		}
+		case NodeKind.WHILE: {
+			While st = (While)s;
+			while (evalInt(st.exp, f) != 0) {
+				BreakTarget b = exec(st.body, f);
+				if (b != null) {
+					if (b == st) break;
+					return b;
+				}
+			}
+			return null;
+		}
+		case NodeKind.SWITCH:
+			return execSwitch((Switch)s, f);
+		case NodeKind.CASE:
+		case NodeKind.DEFAULT:
+			return null;
+		case NodeKind.BREAK:
+			return ((Break)s).breakLink;
+		case NodeKind.ASSIGN:
+			execAssign((Assign)s, f);
+			return null;
+		case NodeKind.CALL_STATEMENT:
+			callVoid(((CallStatement)s).callExp, f);
+			return null;
+		case NodeKind.LOCAL_DECL_STATEMENT: {
+			LocalVarDecl v = ((LocalDeclStatement)s).localVarDecl;
+			if (isData(v.type)) {
+				f.ints[v.offset] = evalInt(v.initExp, f);
+			}
+			else {
+				f.refs[v.offset] = evalRef(v.initExp, f);
+			}
+			return null;
+		}
+		default:
+			throw new RuntimeError(s.pos, "cannot execute "+NodeKind.name(s.kind()));
+		}
+	}
+
+	private BreakTarget execList(StatementList stmts, Frame f) {
+		for (int i = 0; i < stmts.size(); i++) {
+			BreakTarget b = exec(stmts.get(i), f);
+			if (b != null) return b;
+		}
+		return null;
+	}
+
+	// jumps to the matching case label (or else the default label) and
+	// runs from there to the end of the body or to a break
+	private BreakTarget execSwitch(Switch st, Frame f) {
+		int val = evalInt(st.exp, f);
+		StatementList stmts = st.stmts;
+		int start = -1;
+		for (int i = 0; i < stmts.size(); i++) {
+			Statement s = stmts.get(i);
+			if (s instanceof Case) {
+				if (evalInt(((Case)s).exp, f) == val) {
+					start = i;
+					break;
+				}
+			}
+			else if (s instanceof Default) {
+				start = i;
+			}
+		}
+		if (start < 0) return null;
+		for (int i = start; i < stmts.size(); i++) {
+			BreakTarget b = exec(stmts.get(i), f);
+			if (b != null) {
+				return b == st ? null : b;
+			}
+		}
+		return null;
+	}
+
+	private void execAssign(Assign st, Frame f) {
+		Exp lhs = st.lhs;
+		boolean data = isData(lhs.type);
+		switch (lhs.kind()) {
+		case NodeKind.IDENTIFIER_EXP: {
+			VarDecl v = ((IdentifierExp)lhs).link;
+			if (v instanceof InstVarDecl) {
+				if (data) f.thisObj.data[v.offset] = evalInt(st.rhs, f);
+				else f.thisObj.refs[v.offset] = evalRef(st.rhs, f);
+			}
+			else {
+				if (data) f.ints[v.offset] = evalInt(st.rhs, f);
+				else f.refs[v.offset] = evalRef(st.rhs, f);
+			}
+			break;
+		}
+		case NodeKind.INST_VAR_ACCESS: {
+			InstVarAccess e = (InstVarAccess)lhs;
+			ObjectValue obj = (ObjectValue)nonNull(evalRef(e.exp, f), e.exp);
+			if (data) obj.data[e.varDec.offset] = evalInt(st.rhs, f);
+			else obj.refs[e.varDec.offset] = evalRef(st.rhs, f);
+			break;
+		}
+		case NodeKind.ARRAY_LOOKUP: {
+			ArrayLookup e = (ArrayLookup)lhs;
+			Object arr = nonNull(evalRef(e.arrExp, f), e.arrExp);
+			int idx = evalInt(e.idxExp, f);
+			if (data) {
+				int val = evalInt(st.rhs, f);
+				int[] a = (int[])arr;
+				checkIndex(idx, a.length, e);
+				a[idx] = val;
+			}
+			else {
+				Object val = evalRef(st.rhs, f);
+				Object[] a = (Object[])arr;
+				checkIndex(idx, a.length, e);
+				a[idx] = val;
+			}
+			break;
+		}
+		default:
+			throw new RuntimeError(lhs.pos, "cannot assign to "+NodeKind.name(lhs.kind()));
+		}
+	}
+
+	/*************** expressions ****************/
+
+	// evaluates an expression of type int or boolean
+	private int evalInt(Exp e, Frame f) {
+		switch (e.kind()) {
+		case NodeKind.INTEGER_LITERAL:
+			return ((IntegerLiteral)e).val;
+		case NodeKind.TRUE:
+			return 1;
+		case NodeKind.FALSE:
+			return 0;
+		case NodeKind.IDENTIFIER_EXP: {
+			VarDecl v = ((IdentifierExp)e).link;
+			return v instanceof InstVarDecl ? f.thisObj.data[v.offset] : f.ints[v.offset];
+		}
+		case NodeKind.PLUS: {
+			BinExp b = (BinExp)e;
+			return evalInt(b.left, f) + evalInt(b.right, f);
+		}
+		case NodeKind.MINUS: {
+			BinExp b = (BinExp)e;
+			return evalInt(b.left, f) - evalInt(b.right, f);
+		}
+		case NodeKind.TIMES: {
+			BinExp b = (BinExp)e;
+			return evalInt(b.left, f) * evalInt(b.right, f);
+		}
+		case NodeKind.DIVIDE: {
+			BinExp b = (BinExp)e;
+			int left = evalInt(b.left, f);
+			return left / divisor(b, f);
+		}
+		case NodeKind.REMAINDER: {
+			BinExp b = (BinExp)e;
+			int left = evalInt(b.left, f);
+			return left % divisor(b, f);
+		}
+		case NodeKind.LESS_THAN: {
+			BinExp b = (BinExp)e;
+			return evalInt(b.left, f) < evalInt(b.right, f) ? 1 : 0;
+		}
+		case NodeKind.GREATER_THAN: {
+			BinExp b = (BinExp)e;
+			return evalInt(b.left, f) > evalInt(b.right, f) ? 1 : 0;
+		}
+		case NodeKind.AND: {
+			BinExp b = (BinExp)e;
+			return evalInt(b.left, f) != 0 && evalInt(b.right, f) != 0 ? 1 : 0;
+		}
+		case NodeKind.OR: {
+			BinExp b = (BinExp)e;
+			return evalInt(b.left, f) != 0 || evalInt(b.right, f) != 0 ? 1 : 0;
+		}
+		case NodeKind.EQUALS: {
+			BinExp b = (BinExp)e;
+			if (isData(b.left.type)) {
+				return evalInt(b.left, f) == evalInt(b.right, f) ? 1 : 0;
+			}
+			return evalRef(b.left, f) == evalRef(b.right, f) ? 1 : 0;
+		}
+		case NodeKind.NOT:
+			return evalInt(((Not)e).exp, f) == 0 ? 1 : 0;
+		case NodeKind.ARRAY_LENGTH: {
+			Exp arrExp = ((ArrayLength)e).exp;
+			Object arr = nonNull(evalRef(arrExp, f), arrExp);
+			return arr instanceof int[] ? ((int[])arr).length : ((Object[])arr).length;
+		}
+		case NodeKind.ARRAY_LOOKUP: {
+			ArrayLookup a = (ArrayLookup)e;
+			int[] arr = (int[])nonNull(evalRef(a.arrExp, f), a.arrExp);
+			int idx = evalInt(a.idxExp, f);
+			checkIndex(idx, arr.length, a);
+			return arr[idx];
+		}
+		case NodeKind.INST_VAR_ACCESS: {
+			InstVarAccess a = (InstVarAccess)e;
+			ObjectValue obj = (ObjectValue)nonNull(evalRef(a.exp, f), a.exp);
+			return obj.data[a.varDec.offset];
+		}
+		case NodeKind.CALL:
+			return callInt((Call)e, f);
+		case NodeKind.INSTANCE_OF: {
+			InstanceOf i = (InstanceOf)e;
+			Object val = evalRef(i.exp, f);
+			return val != null && isInstance(val, i.checkType) ? 1 : 0;
+		}
+		case NodeKind.CAST:
+			// a cast to int or boolean can only be from the same type
+			return evalInt(((Cast)e).exp, f);
+		default:
+			throw new RuntimeError(e.pos, "cannot evaluate "+NodeKind.name(e.kind()));
+		}
+	}
+
+	// evaluates an expression whose type is a reference type
+	private Object evalRef(Exp e, Frame f) {
+		switch (e.kind()) {
+		case NodeKind.IDENTIFIER_EXP: {
+			VarDecl v = ((IdentifierExp)e).link;
+			return v instanceof InstVarDecl ? f.thisObj.refs[v.offset] : f.refs[v.offset];
+		}
+		case NodeKind.STRING_LITERAL:
+			return ((StringLiteral)e).str;
+		case NodeKind.NULL_LITERAL:
+			return null;
+		case NodeKind.THIS:
+		case NodeKind.SUPER:
+			return f.thisObj;
+		case NodeKind.NEW_OBJECT: {
+			ClassDecl cls = ((NewObject)e).objType.link;
+			return cls == stringClass ? "" : new ObjectValue(cls);
+		}
+		case NodeKind.NEW_ARRAY: {
+			NewArray a = (NewArray)e;
+			int size = evalInt(a.sizeExp, f);
+			if (size < 0) {
+				throw new RuntimeError(a.sizeExp.pos, "negative array size: "+size);
+			}
+			return isData(((ArrayType)a.type).baseType) ? new int[size] : new Object[size];
+		}
+		case NodeKind.ARRAY_LOOKUP: {
+			ArrayLookup a = (ArrayLookup)e;
+			Object[] arr = (Object[])nonNull(evalRef(a.arrExp, f), a.arrExp);
+			int idx = evalInt(a.idxExp, f);
+			checkIndex(idx, arr.length, a);
+			return arr[idx];
+		}
+		case NodeKind.INST_VAR_ACCESS: {
+			InstVarAccess a = (InstVarAccess)e;
+			ObjectValue obj = (ObjectValue)nonNull(evalRef(a.exp, f), a.exp);
+			return obj.refs[a.varDec.offset];
+		}
+		case NodeKind.CALL:
+			return callRef((Call)e, f);
+		case NodeKind.CAST: {
+			Cast c = (Cast)e;
+			Object val = evalRef(c.exp, f);
+			if (val != null && !isInstance(val, c.castType)) {
+				throw new RuntimeError(c.pos, "cannot cast "+typeName(val)+" to "+c.castType);
+			}
+			return val;
+		}
+		default:
+			throw new RuntimeError(e.pos, "cannot evaluate "+NodeKind.name(e.kind()));
+		}
+	}
+
+	// the right operand of a division, which must not be 0
+	private int divisor(BinExp b, Frame f) {
+		int rtnVal = evalInt(b.right, f);
+		if (rtnVal == 0) {
+			throw new RuntimeError(b.pos, "division by zero");
+		}
+		return rtnVal;
+	}
+
+	private static Object nonNull(Object val, Exp e) {
+		if (val == null) {
+			throw new RuntimeError(e.pos, "null dereference");
+		}
+		return val;
+	}
+
+	private static void checkIndex(int idx, int length, Exp e) {
+		if (idx < 0 || idx >= length) {
+			throw new RuntimeError(e.pos, "array index "+idx+" out of bounds for length "+length);
+		}
+	}
+
+	// whether a (non-null) value belongs to a type
+	private boolean isInstance(Object val, Type t) {
+		if (t instanceof ArrayType) {
+			return isData(((ArrayType)t).baseType) ? val instanceof int[] : val instanceof Object[];
+		}
+		ClassDecl cls = ((IdentifierType)t).link;
+		if (val instanceof ObjectValue) {
+			return hierarchy.isSubclass(((ObjectValue)val).cls, cls);
+		}
+		else if (val instanceof String) {
+			return hierarchy.isSubclass(stringClass, cls);
+		}
+		return cls == objectClass; // an array
+	}
+
+	private static String typeName(Object val) {
+		if (val instanceof ObjectValue) return ((ObjectValue)val).cls.name;
+		if (val instanceof String) return "String";
+		return val instanceof int[] ? "int[]" : "Object[]";
+	}
+
+	/*************** calls ****************/
+
+	// evaluates the object on which a method is called
+	private Object receiver(Call c, Frame f) {
+		return nonNull(evalRef(c.obj, f), c.obj);
+	}
+
+	// the method that a call runs for the given receiver: the one in the
+	// receiver's v-table slot, except that calls through 'super' are not
+	// dispatched, and arrays only have Object's methods
+	private MethodDecl target(Call c, Object recv) {
+		MethodDecl m = c.methodLink;
+		if (c.obj.kind() == NodeKind.SUPER) {
+			return m;
+		}
+		else if (recv instanceof ObjectValue) {
+			return ((ObjectValue)recv).cls.vtable.get(m.vtableOffset);
+		}
+		else if (recv instanceof String) {
+			return stringClass.vtable.get(m.vtableOffset);
+		}
+		return m;
+	}
+
+	private MethodInfo info(MethodDecl m) {
+		MethodInfo rtnVal = methodInfo.get(m);
+		if (rtnVal == null) {
+			rtnVal = new MethodInfo();
+			if (globalSymTab.isShared(m.classDecl)) {
+				rtnVal.builtin = Builtin.lookup(m.classDecl.name, m.name);
+			}
+			else {
+				frameLayout.layOut(m, rtnVal);
+			}
+			methodInfo.set(m, rtnVal);
+		}
+		return rtnVal;
+	}
+
+	// creates the callee's frame and runs its body
+	private Frame invoke(MethodDecl m, MethodInfo info, Call c, Frame f, Object recv) {
+		Frame callee = new Frame(info, (ObjectValue)recv);
+		ExpList parms = c.parms;
+		for (int i = 0; i < parms.size(); i++) {
+			VarDecl formal = m.formals.get(i);
+			if (isData(formal.type)) {
+				callee.ints[formal.offset] = evalInt(parms.get(i), f);
+			}
+			else {
+				callee.refs[formal.offset] = evalRef(parms.get(i), f);
+			}
+		}
+		execList(m.stmts, callee);
+		return callee;
+	}
+
+	// a call whose result is an int or boolean
+	private int callInt(Call c, Frame f) {
+		Object recv = receiver(c, f);
+		MethodDecl m = target(c, recv);
+		MethodInfo info = info(m);
+		if (info.builtin != Builtin.NONE) {
+			return builtinInt(info.builtin, c, f, recv);
+		}
+		Frame callee = invoke(m, info, c, f, recv);
+		return evalInt(((MethodDeclNonVoid)m).rtnExp, callee);
+	}
+
+	// a call whose result is a reference
+	private Object callRef(Call c, Frame f) {
+		Object recv = receiver(c, f);
+		MethodDecl m = target(c, recv);
+		MethodInfo info = info(m);
+		if (info.builtin != Builtin.NONE) {
+			return builtinRef(info.builtin, c, f, recv);
+		}
+		Frame callee = invoke(m, info, c, f, recv);
+		return evalRef(((MethodDeclNonVoid)m).rtnExp, callee);
+	}
+
+	// a call whose result, if any, is not used
+	private void callVoid(Call c, Frame f) {
+		Object recv = receiver(c, f);
+		MethodDecl m = target(c, recv);
+		MethodInfo info = info(m);
+		if (info.builtin != Builtin.NONE) {
+			if (c.type == null || c.type instanceof VoidType) {
+				builtinVoid(info.builtin, c, f, recv);
+			}
+			else if (isData(c.type)) {
+				builtinInt(info.builtin, c, f, recv);
+			}
+			else {
+				builtinRef(info.builtin, c, f, recv);
+			}
+			return;
+		}
+		Frame callee = invoke(m, info, c, f, recv);
+		if (m instanceof MethodDeclNonVoid) {
+			Exp rtnExp = ((MethodDeclNonVoid)m).rtnExp;
+			if (isData(rtnExp.type)) {
+				evalInt(rtnExp, callee);
+			}
+			else {
+				evalRef(rtnExp, callee);
+			}
+		}
+	}
+
+	/*************** predefined methods ****************/
+
+	private int intArg(Call c, int i, Frame f) {
+		return evalInt(c.parms.get(i), f);
+	}
+
+	private Object refArg(Call c, int i, Frame f) {
+		return evalRef(c.parms.get(i), f);
+	}
+
+	private String stringArg(Call c, int i, Frame f) {
+		return (String)nonNull(refArg(c, i, f), c.parms.get(i));
+	}
+
+	private int builtinInt(int code, Call c, Frame f, Object recv) {
+		switch (code) {
+		case Builtin.OBJECT_HASH_CODE:
+			return System.identityHashCode(recv);
+		case Builtin.OBJECT_EQUALS:
+			return recv == refArg(c, 0, f) ? 1 : 0;
+		case Builtin.LIB_READ_INT:
+			return readInt(c);
+		case Builtin.LIB_READ_CHAR:
+			try {
+				return in.read();
+			}
+			catch (IOException iox) {
+				throw new RuntimeError(c.pos, "input error: "+iox.getMessage());
+			}
+		case Builtin.STRING_HASH_CODE:
+			return recv.hashCode();
+		case Builtin.STRING_EQUALS:
+			return recv.equals(refArg(c, 0, f)) ? 1 : 0;
+		case Builtin.STRING_LENGTH:
+			return ((String)recv).length();
+		case Builtin.STRING_CHAR_AT: {
+			String s = (String)recv;
+			int idx = intArg(c, 0, f);
+			if (idx < 0 || idx >= s.length()) {
+				throw new RuntimeError(c.pos, "string index "+idx+" out of bounds for length "+s.length());
+			}
+			return s.charAt(idx);
+		}
+		case Builtin.STRING_COMPARE_TO:
+			return ((String)recv).compareTo(stringArg(c, 0, f));
+		default:
+			throw new RuntimeError(c.pos, "no int result from "+c.methName);
+		}
+	}
+
+	private Object builtinRef(int code, Call c, Frame f, Object recv) {
+		switch (code) {
+		case Builtin.OBJECT_TO_STRING:
+			return typeName(recv)+"@"+Integer.toHexString(System.identityHashCode(recv));
+		case Builtin.LIB_READ_LINE:
+			try {
+				return in.readLine();
+			}
+			catch (IOException iox) {
+				throw new RuntimeError(c.pos, "input error: "+iox.getMessage());
+			}
+		case Builtin.LIB_INT_TO_STRING:
+			return Integer.toString(intArg(c, 0, f));
+		case Builtin.LIB_INT_TO_CHAR:
+			return String.valueOf((char)intArg(c, 0, f));
+		case Builtin.STRING_TO_STRING:
+			return recv;
+		case Builtin.STRING_CONCAT:
+			return ((String)recv).concat(stringArg(c, 0, f));
+		case Builtin.STRING_SUBSTRING: {
+			String s = (String)recv;
+			int begin = intArg(c, 0, f);
+			int end = intArg(c, 1, f);
+			if (begin < 0 || end > s.length() || begin > end) {
+				throw new RuntimeError(c.pos, "substring("+begin+","+end+") out of bounds for length "+s.length());
+			}
+			return s.substring(begin, end);
+		}
+		default:
+			throw new RuntimeError(c.pos, "no object result from "+c.methName);
+		}
+	}
+
+	private void builtinVoid(int code, Call c, Frame f, Object recv) {
+		switch (code) {
+		case Builtin.LIB_PRINT_STR:
+			out.print((String)refArg(c, 0, f));
+			break;
+		case Builtin.LIB_PRINT_BOOL:
+			out.print(intArg(c, 0, f) != 0);
+			break;
+		case Builtin.LIB_PRINT_INT:
+			out.print(intArg(c, 0, f));
+			break;
+		default:
+			throw new RuntimeError(c.pos, "no void method "+c.methName);
+		}
+	}
+
+	// reads an optionally signed decimal integer, skipping white space
+	// before it; returns 0 if there is none
+	private int readInt(Call c) {
+		try {
+			int ch;
+			do {
+				in.mark(1);
+				ch = in.read();
+			} while (ch >= 0 && Character.isWhitespace(ch));
+			boolean negative = ch == '-';
+			if (negative) {
+				in.mark(1);
+				ch = in.read();
+			}
+			int rtnVal = 0;
+			while (ch >= '0' && ch <= '9') {
+				rtnVal = 10*rtnVal + (ch - '0');
+				in.mark(1);
+				ch = in.read();
+			}
+			if (ch >= 0) {
+				in.reset(); // leave the character after the number
+			}
+			return negative ? -rtnVal : rtnVal;
+		}
+		catch (IOException iox) {
+			throw new RuntimeError(c.pos, "input error: "+iox.getMessage());
+		}
+	}
+}
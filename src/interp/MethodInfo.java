@@ -0,0 +1,13 @@
+package interp;
+
+/**
+ * what the interpreter needs to know about a method beyond its AST: the
+ * size of its frame, or, for a predefined method, which builtin implements
+ * it
+ */
+final class MethodInfo {
+
+	int numInts; // int and boolean formals and locals
+	int numRefs; // object formals and locals
+	int builtin; // a Builtin code; Builtin.NONE for a program's method
+}
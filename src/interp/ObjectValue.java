@@ -0,0 +1,29 @@
+package interp;
+
+import syntaxtree.ClassDecl;
+
+/**
+ * an object of a program-defined class (or of Object or Lib) while the
+ * program is being interpreted. Its int and boolean instance variables
+ * are in one array and its object instance variables in another, each
+ * indexed by the variable's offset (see Sem5Visitor); booleans are 0 or 1.
+ */
+final class ObjectValue {
+
+	private static final int[] NO_DATA = new int[0];
+	private static final Object[] NO_REFS = new Object[0];
+
+	final ClassDecl cls; // the object's class
+	final int[] data; // int and boolean instance variables
+	final Object[] refs; // object instance variables
+
+	/**
+	 * constructor -- creates an object with all variables 0 or null
+	 * @param cls the object's class, which has been laid out
+	 */
+	ObjectValue(ClassDecl cls) {
+		this.cls = cls;
+		this.data = cls.numDataInstVars == 0 ? NO_DATA : new int[cls.numDataInstVars];
+		this.refs = cls.numObjInstVars == 0 ? NO_REFS : new Object[cls.numObjInstVars];
+	}
+}
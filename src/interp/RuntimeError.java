@@ -0,0 +1,20 @@
+package interp;
+
+/**
+ * thrown when a program being interpreted fails (null dereference, array
+ * index out of bounds, division by zero, failed cast, ...)
+ */
+public class RuntimeError extends RuntimeException {
+
+	public final int pos; // the file position of the failing node; -1 if none
+
+	/**
+	 * constructor
+	 * @param pos the file position of the failing node
+	 * @param msg what went wrong
+	 */
+	public RuntimeError(int pos, String msg) {
+		super(msg);
+		this.pos = pos;
+	}
+}
@@ -0,0 +1,128 @@
+package main;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * compiles several independent files concurrently. Each file gets its own
+ * Main3 and ErrorMsg objects, and its diagnostics and output are buffered;
+ * once all files are done, the buffers are written out in the order in which
+ * the files were given, so the result does not depend on scheduling.
+ *
+ * The files are run as tasks in a ForkJoinPool (one worker per core), whose
+ * work-stealing keeps all workers busy when file sizes are uneven.
+ */
+public class BatchCompiler {
+
+	private Main3 settings; // supplies the switches and the file names
+	private ForkJoinPool pool;
+
+	public BatchCompiler(Main3 settings) {
+		this(settings, Runtime.getRuntime().availableProcessors());
+	}
+
+	public BatchCompiler(Main3 settings, int parallelism) {
+		this.settings = settings;
+		this.pool = new ForkJoinPool(parallelism);
+	}
+
+	/**
+	 * compiles all files, writing the output of each to System.out and its
+	 * diagnostics to System.err
+	 * @return the number of files that failed to compile
+	 */
+	public int compileAll() {
+		List<String> files = settings.inputFileNames;
+		List<ForkJoinTask<FileResult>> tasks =
+			new ArrayList<ForkJoinTask<FileResult>>(files.size());
+		for (String file : files) {
+			tasks.add(pool.submit(new FileTask(file)));
+		}
+		int failures = 0;
+		for (ForkJoinTask<FileResult> task : tasks) {
+			FileResult result = task.join();
+			try {
+				result.out.writeTo(System.out);
+				System.out.flush();
+				result.diag.writeTo(System.err);
+				System.err.flush();
+			}
+			catch (IOException iox) {
+				System.err.println("Error writing compiler output: "+iox);
+			}
+			if (!result.ok) failures++;
+		}
+		pool.shutdown();
+		return failures;
+	}
+
+	/**
+	 * expands a file argument containing '*', '?', '[' or '{' in its last
+	 * component into the matching files, in name order. An argument that
+	 * is not a pattern, or that matches nothing, is returned unchanged.
+	 * @param arg the command-line argument
+	 * @return the file names
+	 */
+	static List<String> expandGlob(String arg) {
+		Path path = Paths.get(arg);
+		Path namePart = path.getFileName();
+		if (namePart == null || !isPattern(namePart.toString())) {
+			return Collections.singletonList(arg);
+		}
+		Path dir = path.getParent();
+		List<String> rtnVal = new ArrayList<String>();
+		try (DirectoryStream<Path> ds = Files.newDirectoryStream(
+				dir == null ? Paths.get(".") : dir, namePart.toString())) {
+			for (Path p : ds) {
+				if (Files.isRegularFile(p)) {
+					rtnVal.add(dir == null ? p.getFileName().toString() : p.toString());
+				}
+			}
+		}
+		catch (IOException | InvalidPathException x) {
+			return Collections.singletonList(arg);
+		}
+		if (rtnVal.isEmpty()) {
+			return Collections.singletonList(arg);
+		}
+		Collections.sort(rtnVal);
+		return rtnVal;
+	}
+
+	private static boolean isPattern(String s) {
+		for (int i = 0; i < s.length(); i++) {
+			switch (s.charAt(i)) {
+				case '*': case '?': case '[': case '{': return true;
+			}
+		}
+		return false;
+	}
+
+	// the buffered result of compiling one file
+	private static class FileResult {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ByteArrayOutputStream diag = new ByteArrayOutputStream();
+		boolean ok;
+	}
+
+	// the task that compiles one file
+	private class FileTask implements Callable<FileResult> {
+		private String fileName;
+
+		FileTask(String fileName) {
+			this.fileName = fileName;
+		}
+
+		public FileResult call() {
+			FileResult result = new FileResult();
+			PrintStream out = new PrintStream(result.out);
+			PrintStream diag = new PrintStream(result.diag);
+			result.ok = settings.copyForFile(fileName, diag, out).execMain(false);
+			out.flush();
+			diag.flush();
+			return result;
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package main;
+
+/**
+ * thrown in place of exiting the JVM when a compilation that runs inside a
+ * long-lived driver hits a fatal error (bad switch, missing file, ...)
+ */
+public class CompileAbortException extends RuntimeException {
+
+	public CompileAbortException(String msg) {
+		super(msg);
+	}
+}
@@ -0,0 +1,103 @@
+package main;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * a long-lived compiler process. Each line read from standard input is a
+ * command line, in the same form accepted by Main3 (e.g., "-p Foo.java").
+ * The file is compiled and the response is written to standard output:
+ * <pre>
+ *   #output 1234
+ *   ...1234 bytes...
+ *   #done 0
+ * </pre>
+ * The bytes are everything the compilation prints -- diagnostics, the
+ * summary message, any AST output and the program's own output -- and the
+ * number on the last line is 0 if the compilation succeeded and 1
+ * otherwise. Because the length comes first, a client never has to look
+ * inside the output, which may well contain a line like "#done 0". The
+ * server exits at end of input or on a line containing "#quit".
+ *
+ * Because the JVM stays up, the parse tables are loaded and the compiler's
+ * code is JIT-compiled only once, rather than once per file.
+ */
+public class CompileServer {
+
+	static final String OUTPUT_MARKER = "#output";
+	static final String DONE_MARKER = "#done";
+	static final String QUIT_COMMAND = "#quit";
+
+	private BufferedReader in;
+	private PrintStream out;
+
+	public CompileServer(InputStream is, PrintStream os) {
+		in = new BufferedReader(new InputStreamReader(is));
+		out = os;
+	}
+
+	public static void main(String args[]) {
+		// responses go to the real standard output; anything else that
+		// writes to System.out goes to standard error instead, so that it
+		// cannot end up inside a response
+		PrintStream responseStream =
+			new PrintStream(new FileOutputStream(FileDescriptor.out), false);
+		System.setOut(System.err);
+		new CompileServer(System.in, responseStream).serve();
+	}
+
+	/**
+	 * processes requests until end of input
+	 */
+	public void serve() {
+		try {
+			for (;;) {
+				String line = in.readLine();
+				if (line == null) break;
+				line = line.trim();
+				if (line.length() == 0) continue;
+				if (line.equals(QUIT_COMMAND)) break;
+				ByteArrayOutputStream response = new ByteArrayOutputStream();
+				PrintStream ps = new PrintStream(response);
+				boolean ok = compile(splitArgs(line), ps);
+				ps.flush();
+				out.println(OUTPUT_MARKER+" "+response.size());
+				response.writeTo(out);
+				out.println(DONE_MARKER+" "+(ok ? 0 : 1));
+				out.flush();
+			}
+		}
+		catch (IOException iox) {
+			System.err.println("Error reading compile request: "+iox);
+		}
+		out.flush();
+	}
+
+	/**
+	 * compiles a single file
+	 * @param args the command line for the compilation
+	 * @param out the stream for all of the compilation's output
+	 * @return whether the compilation succeeded
+	 */
+	static boolean compile(String[] args, PrintStream out) {
+		Main3 mainObj = Main3.createEmbedded(out, out);
+		try {
+			mainObj.parseCommandLine(args);
+		}
+		catch (CompileAbortException cax) {
+			out.println(cax.getMessage());
+			return false;
+		}
+		mainObj.errorMsg = mainObj.createErrorMsg(mainObj.inputFileName, out);
+		return mainObj.execMain(false);
+	}
+
+	private static String[] splitArgs(String line) {
+		StringTokenizer st = new StringTokenizer(line);
+		String[] rtnVal = new String[st.countTokens()];
+		for (int i = 0; i < rtnVal.length; i++) {
+			rtnVal[i] = st.nextToken();
+		}
+		return rtnVal;
+	}
+}
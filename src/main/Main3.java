@@ -8,8 +8,10 @@ import treedisplay.*;
 import visitor.*;
 import errorMsg.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.awt.*;
 import prettyPrinter.PrettyPrinter;
+import interp.*;
 
 public class Main3 {
 	
@@ -29,40 +31,147 @@ public class Main3 {
 	private int fontSize;
 	private Color color;
 	String inputFileName;
+	java.util.List<String> inputFileNames; // all input files, in command-line order
 	private String outputFileName;
 	private String appendFileName;
 	private InputStream inputStream;
 	private PrintStream outputStream;
+	private PrintStream defaultOutputStream;
 	private InputStream appendStream;
 	ErrorMsg errorMsg;
+	AstContext astContext; // node IDs and names of the current compilation
+	private PrintStream diagStream; // where fatal-error messages go
+	private boolean exitOnError; // false when running inside a long-lived driver
+	private boolean jsonDiagnostics; // report diagnostics as JSON lines
+	private int maxErrors; // give up after this many errors; 0 means no limit
+	private int sem3Threads; // threads for phase 3; 0 or 1 means serial
+	private boolean runProgram; // interpret the program after checking it
+	private InputStream programInput; // standard input of the interpreted program
 	
 	public static void main(String args[])  {
 		Main3 mainObj = new Main3();
 		mainObj.parseCommandLine(args);
-		mainObj.errorMsg = new ErrorMsg(mainObj.inputFileName);
+		if (mainObj.inputFileNames.size() > 1) {
+			new BatchCompiler(mainObj).compileAll();
+			return;
+		}
+		mainObj.errorMsg = mainObj.createErrorMsg(mainObj.inputFileName, System.err);
 		mainObj.execMain(false);
 	}
 	
-	void execMain(boolean useTerminal) {
+	/**
+	 * creates a compiler object that reports failures by throwing
+	 * CompileAbortException rather than exiting the JVM, and that sends
+	 * all diagnostics to the given stream
+	 * @param diag the stream for diagnostics
+	 * @param out the default stream for AST output
+	 * @return the compiler object
+	 */
+	static Main3 createEmbedded(PrintStream diag, PrintStream out) {
+		Main3 mainObj = new Main3();
+		mainObj.exitOnError = false;
+		mainObj.diagStream = diag;
+		mainObj.defaultOutputStream = out;
+		// the driver's own standard input (e.g., the server's requests)
+		// is not the program's
+		mainObj.programInput = new ByteArrayInputStream(new byte[0]);
+		return mainObj;
+	}
+	
+	/**
+	 * creates an embedded compiler object for one of this object's input
+	 * files, with the same switches as this object
+	 * @param fileName the file to compile
+	 * @param diag the stream for diagnostics
+	 * @param out the default stream for AST output
+	 * @return the compiler object, ready for execMain
+	 */
+	Main3 copyForFile(String fileName, PrintStream diag, PrintStream out) {
+		Main3 mainObj = createEmbedded(diag, out);
+		mainObj.mode = mode;
+		mainObj.prettyPrint = prettyPrint;
+		mainObj.pass = pass;
+		mainObj.fontSize = fontSize;
+		mainObj.color = color;
+		mainObj.appendFileName = appendFileName;
+		mainObj.jsonDiagnostics = jsonDiagnostics;
+		mainObj.maxErrors = maxErrors;
+		mainObj.sem3Threads = sem3Threads;
+		mainObj.runProgram = runProgram;
+		mainObj.inputFileName = fileName;
+		mainObj.inputFileNames = Collections.singletonList(fileName);
+		mainObj.errorMsg = mainObj.createErrorMsg(fileName, diag);
+		return mainObj;
+	}
+	
+	/**
+	 * creates the error-message object for a file, with the diagnostic
+	 * format and error limit given on the command line
+	 * @param fileName the file being compiled
+	 * @param diag the stream to write the diagnostics to
+	 * @return the error-message object
+	 */
+	ErrorMsg createErrorMsg(String fileName, PrintStream diag) {
+		DiagnosticSink sink = jsonDiagnostics
+			? new JsonDiagnosticSink(diag)
+			: new TextDiagnosticSink(diag);
+		ErrorMsg rtnVal = new ErrorMsg(fileName, sink);
+		rtnVal.setMaxErrors(maxErrors);
+		return rtnVal;
+	}
+	
+	/**
+	 * compiles the file given on the (already parsed) command line
+	 * @param useTerminal unused
+	 * @return whether the compilation succeeded
+	 */
+	boolean execMain(boolean useTerminal) {
+		// number this compilation's nodes after the predefined ones
+		astContext = new AstContext(PredefinedClasses.context());
+		AstContext outer = AstContext.enter(astContext);
 		try {
 			this.openFiles();
 			AstNode ast = this.parseFile();
-			Hashtable<String,ClassDecl> globalTab = this.semanticPhase1(ast);
+			GlobalSymTab globalTab = this.semanticPhase1(ast);
 			this.semanticPhase2(ast, globalTab);
 			this.semanticPhase3(ast, globalTab);
-//			this.semanticPhase4(ast, globalTab);
-//			this.semanticPhase5(ast, globalTab);
+			this.semanticPhase4(ast, globalTab);
+			this.semanticPhase5(ast, globalTab);
 //			this.cgPhase1(ast, globalTab);
 //			this.cgPhase2(ast);
 //			this.cgPhase3(ast);
 //			this.appendFile();
 			this.printSummaryMessage();
+			this.interpret(ast, globalTab);
 			this.displayAst(ast);
 			this.closeFiles();
+			return !errorMsg.anyErrors;
+		}
+		catch (TooManyErrorsException tmx) {
+			// the message has already been reported
+			this.printSummaryMessage();
+			return false;
 		}
-		catch (Exception e) {
-			e.printStackTrace();
-			exitError("Unexpected exception: "+e);
+		catch (CompileAbortException cax) {
+			errorMsg.flush();
+			diagStream.println(cax.getMessage());
+			return false;
+		}
+		catch (Throwable t) {
+			// includes Errors, such as a StackOverflowError on very deep
+			// input, which must not take a long-lived driver down with them
+			errorMsg.flush();
+			t.printStackTrace(diagStream);
+			if (exitOnError) exitError("Unexpected exception: "+t);
+			diagStream.println("Unexpected exception: "+t);
+			return false;
+		}
+		finally {
+			// whatever happened, report the buffered diagnostics and let go
+			// of the files
+			errorMsg.flush();
+			releaseFiles();
+			AstContext.exit(outer);
 		}
 	}
 	
@@ -71,16 +180,21 @@ public class Main3 {
 		pass = DEFAULT_PASS_LIMIT;
 		fontSize = DEFAULT_FONT_SIZE;
 		inputFileName = null;
+		inputFileNames = new ArrayList<String>();
 		outputFileName = null;
 		appendFileName = null;
 		errorMsg = null;
+		diagStream = System.err;
+		defaultOutputStream = System.out;
+		programInput = System.in;
+		exitOnError = true;
 	}
 	
 	void parseCommandLine(String[] args) {
 		for (int i = 0; i < args.length; i++) {
 			String arg = args[i];
 			if (arg.length() == 0) {
-				exitError("Illegal argument: '"+arg+"'");
+				fail("Illegal argument: '"+arg+"'");
 			}
 			else if (arg.charAt(0) == '-') {
 				if (arg.startsWith("-w")) {
@@ -110,6 +224,32 @@ public class Main3 {
 						color = defaultColor();
 					}
 				}
+				else if (arg.equals("-json")) {
+					jsonDiagnostics = true;
+				}
+				else if (arg.startsWith("-e") && arg.length() > 2) {
+					try {
+						maxErrors = Integer.parseInt(arg.substring(2));
+					}
+					catch (NumberFormatException nfx) {
+						maxErrors = -1;
+					}
+					if (maxErrors < 0) fail("Illegal error limit: '"+arg+"'");
+				}
+				else if (arg.startsWith("-j")) {
+					if (arg.length() == 2) {
+						sem3Threads = Runtime.getRuntime().availableProcessors();
+					}
+					else {
+						try {
+							sem3Threads = Integer.parseInt(arg.substring(2));
+						}
+						catch (NumberFormatException nfx) {
+							sem3Threads = -1;
+						}
+						if (sem3Threads <= 0) fail("Illegal thread count: '"+arg+"'");
+					}
+				}
 				else if (arg.equals("-pp")) {
 					mode = PRINT;
 					prettyPrint = true;
@@ -127,10 +267,11 @@ public class Main3 {
 						case '9': pass = 9; break;
 						case 'a':
 							i++;
-							if (i >= args.length) exitError ("No file name after '-a'");
+							if (i >= args.length) fail("No file name after '-a'");
 							appendFileName = args[i];
 							break;
 						case 'p': mode = PRINT; prettyPrint = false; break;
+						case 'x': runProgram = true; break;
 						case 'w':
 							mode = WINDOW;	
 							fontSize = DEFAULT_FONT_SIZE;
@@ -139,48 +280,63 @@ public class Main3 {
 						case 'o':
 							i++;
 							if (i >= args.length) {
-								exitError("No output file specified after '-o'");
+								fail("No output file specified after '-o'");
 							}
 							if (outputFileName != null)
-								exitError("Too many output file names given");
+								fail("Too many output file names given");
 							outputFileName = args[i];
 							break;
 						default:
-							exitError("Illegal switch: '"+arg+"'");
+							fail("Illegal switch: '"+arg+"'");
 						break;
 					}
 				}
 			}
 			else {
-				if (inputFileName != null) exitError("Too many input file names given");
-				inputFileName = arg;
+				inputFileNames.addAll(BatchCompiler.expandGlob(arg));
+			}
+		}
+		if (inputFileNames.isEmpty()) fail("No input file name given");
+		inputFileName = inputFileNames.get(0);
+		if (inputFileNames.size() > 1) {
+			if (outputFileName != null) {
+				fail("Output file not allowed with multiple input files");
+			}
+			if (mode == WINDOW) {
+				fail("Window display not allowed with multiple input files");
 			}
 		}
-		if (inputFileName == null) exitError("No input file name given");
 	}
 	
 	private void openFiles() {
 				
 		try {
-			inputStream = new FileInputStream(inputFileName); }
+			inputStream = MappedFileInputStream.open(inputFileName); }
 		catch (FileNotFoundException e) {
-			exitError("File not found: " + inputFileName);
+			fail("File not found: " + inputFileName);
 		}
-		outputStream = System.out;
+		catch (IOException e) {
+			fail("Error opening input file: " + inputFileName);
+		}
+		if (inputStream instanceof MappedFileInputStream) {
+			// the whole file is in memory, so index its lines in one pass
+			errorMsg.prescanLines(((MappedFileInputStream)inputStream).contents());
+		}
+		outputStream = defaultOutputStream;
 		if (outputFileName != null) {
 			try {
 				OutputStream os = new FileOutputStream(outputFileName);
 				outputStream = new PrintStream(os);
 			}
 			catch (IOException e) {
-				exitError("Error opening output file: " + outputFileName);
+				fail("Error opening output file: " + outputFileName);
 			}
 		}
 		if (appendFileName != null) {
 			try {
 				appendStream = new FileInputStream(appendFileName); }
 			catch (FileNotFoundException e) {
-				exitError("File not found: " + appendFileName);
+				fail("File not found: " + appendFileName);
 			}
 		}
 	}
@@ -193,35 +349,76 @@ public class Main3 {
 		}
 		else if (MJGrammar.FILTER_GRAMMAR) {
 			
-			try {
-				
-				ByteArrayOutputStream os = new ByteArrayOutputStream(1000000);
-				// parse the original input, sending its data to the pipe
-				ErrorMsg scannerErrorObject = new ErrorMsg(errorMsg.getFileName());
-				MJScanner scanner = new MJScanner(scannerErrorObject, os);
-				new MJScannerParseTable(scanner).parse(inputStream,0,false);
-
-				if (scannerErrorObject.anyErrors) {
-					errorMsg.error(-1, "Error detected during scanning");
+			// the scanner runs on its own thread, streaming its output through
+			// a bounded pipe, so the grammar parser can consume tokens as soon
+			// as they are produced. Its messages are recorded and reported
+			// once it is done, so they do not interleave with the parser's.
+			final TokenPipe pipe = new TokenPipe();
+			final DeferredErrorMsg scannerErrorObject =
+				new DeferredErrorMsg(errorMsg.getFileName());
+			final Throwable[] scannerFailure = new Throwable[1];
+			Thread scannerThread = new Thread("scanner: "+inputFileName) {
+				public void run() {
+					OutputStream os =
+						new BufferedOutputStream(pipe.getOutputStream(), 8192);
+					try {
+						// parse the original input, sending its data to the pipe;
+						// this thread has no AstContext, which the scanner does
+						// not need, as it creates no nodes
+						MJScanner scanner = new MJScanner(scannerErrorObject, os);
+						new MJScannerParseTable(scanner).parse(inputStream,0,false);
+						os.flush();
+					}
+					catch (IOException iox) {
+						scannerErrorObject.error(-1, "Internal piping error.");
+					}
+					catch (Throwable tx) {
+						scannerFailure[0] = tx;
+					}
+					finally {
+						try {
+							os.close();
+						}
+						catch (IOException iox) {
+						}
+					}
 				}
-				os.close();
-				
+			};
+			scannerThread.setDaemon(true);
+			scannerThread.start();
+
+			InputStream is = new BufferedInputStream(pipe.getInputStream(), 8192);
+			try {
 				// create the semantic action object
 				MJGrammar mj = new MJGrammar(errorMsg);
 
-				ByteArrayInputStream is = new ByteArrayInputStream(os.toByteArray());
-
 				// parse the filtered text
 				new MJGrammarParseTable(mj).parse(is,0,false);
-				is.close();
+				pipe.closeReader();
+				scannerThread.join();
+				if (scannerFailure[0] instanceof RuntimeException) {
+					throw (RuntimeException)scannerFailure[0];
+				}
+				else if (scannerFailure[0] instanceof Error) {
+					throw (Error)scannerFailure[0];
+				}
+				scannerErrorObject.replayTo(errorMsg);
+				if (scannerErrorObject.anyErrors) {
+					errorMsg.error(-1, "Error detected during scanning");
+				}
 
 				// return the result of the parse
 				return mj.parseResult();
 			}
-			catch (IOException iox) {
-				System.err.println("Internal piping error.");
+			catch (InterruptedException ix) {
+				Thread.currentThread().interrupt();
+				diagStream.println("Interrupted while scanning.");
 				return null;
 			}
+			finally {
+				// lets the scanner run to completion if the parser quit early
+				pipe.closeReader();
+			}
 		}
 		else {
 			// create the semantic action object
@@ -235,7 +432,7 @@ public class Main3 {
 		}
 	}
 	
-	public Hashtable<String,ClassDecl> semanticPhase1(AstNode ast) {
+	public GlobalSymTab semanticPhase1(AstNode ast) {
 		if (!errorMsg.anyErrors && ast != null && pass >= 2) {
 			Sem1Visitor vis = new Sem1Visitor(errorMsg);
 			vis.visit(ast);
@@ -246,31 +443,54 @@ public class Main3 {
 		}
 	}
 	
-	public void semanticPhase2(AstNode ast, Hashtable<String,ClassDecl> globalTbl) {
+	public void semanticPhase2(AstNode ast, GlobalSymTab globalTbl) {
 		if (!errorMsg.anyErrors && ast != null && pass >= 3) {
 			new Sem2Visitor(globalTbl, errorMsg).visit(ast);
 		}
 	}
 	
-	public void semanticPhase3(AstNode ast, Hashtable<String,ClassDecl> globalTbl) {
+	public void semanticPhase3(AstNode ast, GlobalSymTab globalTbl) {
 		if (!errorMsg.anyErrors && ast != null && pass >= 4) {
-			new Sem3Visitor(globalTbl, errorMsg).visit(ast);
+			if (sem3Threads > 1) {
+				ForkJoinPool pool = new ForkJoinPool(sem3Threads);
+				try {
+					new Sem3Visitor(globalTbl, errorMsg, pool).visit(ast);
+				}
+				finally {
+					pool.shutdown();
+				}
+			}
+			else {
+				new Sem3Visitor(globalTbl, errorMsg).visit(ast);
+			}
 		}
 	}
 	
-//	public void semanticPhase4(AstNode ast, Hashtable<String,ClassDecl> globalTbl) {
-//		if (!errorMsg.anyErrors && ast != null && pass >= 5) {
-//			new Sem4Visitor(globalTbl, errorMsg).visit(ast);
-//		}
-//	}
-//	
-//	public void semanticPhase5(AstNode ast, Hashtable<String,ClassDecl> globalTbl) {
-//		if (!errorMsg.anyErrors && ast != null && pass >= 6) {
-//			new Sem5Visitor(errorMsg).visit(ast);
-//		}
-//	}
-//	
-//	public void cgPhase1(AstNode ast, Hashtable<String,ClassDecl> globalTbl) {
+	public void semanticPhase4(AstNode ast, GlobalSymTab globalTbl) {
+		if (!errorMsg.anyErrors && ast != null && pass >= 5) {
+			new Sem4Visitor(globalTbl, errorMsg).visit(ast);
+		}
+	}
+	
+	public void semanticPhase5(AstNode ast, GlobalSymTab globalTbl) {
+		if (!errorMsg.anyErrors && ast != null && pass >= 6) {
+			new Sem5Visitor(globalTbl, errorMsg).visit(ast);
+		}
+	}
+	
+	public void interpret(AstNode ast, GlobalSymTab globalTbl) {
+		if (!errorMsg.anyErrors && ast != null && pass >= 6 && runProgram) {
+			try {
+				new Interpreter((Program)ast, globalTbl, programInput, outputStream).run();
+			}
+			catch (RuntimeError rx) {
+				errorMsg.error(rx.pos, "Runtime error: ", rx.getMessage());
+				errorMsg.flush();
+			}
+		}
+	}
+	
+//	public void cgPhase1(AstNode ast, GlobalSymTab globalTbl) {
 //		if (!errorMsg.anyErrors && ast != null && pass >= 7) {
 //			new CG1Visitor(errorMsg, outputStream).visit(ast);
 //		}
@@ -298,10 +518,10 @@ public class Main3 {
 				}
 			}
 			catch (EOFException iox) {
-				System.err.println("EOF exception");
+				diagStream.println("EOF exception");
 			}
 			catch (IOException iox) {
-				exitError("Error attempting to process append-file "+appendFileName);
+				fail("Error attempting to process append-file "+appendFileName);
 			}
 		}
 	}
@@ -309,21 +529,34 @@ public class Main3 {
 	public void closeFiles() {
 		try {
 			if (inputStream != null) inputStream.close();
-			if (outputStream != null) outputStream.close();
+			if (outputStream != null && outputStream != defaultOutputStream) {
+				outputStream.close();
+			}
 			if (appendStream != null) appendStream.close();
 		}
 		catch (IOException iox) {
-			exitError("Error closing files.");
+			fail("Error closing files.");
+		}
+	}
+	
+	// closes whatever files are open after an aborted compilation, ignoring
+	// any further errors
+	private void releaseFiles() {
+		try {
+			closeFiles();
+		}
+		catch (CompileAbortException cax) {
 		}
 	}
 	
 	public void printSummaryMessage() {
 		if (errorMsg.anyErrors) {
-			System.err.println("Compilation failed for "+inputFileName+".");
+			errorMsg.info("Compilation failed for "+inputFileName+".");
 		}
 		else {
-			System.err.println("Compilation successful for "+inputFileName+".");
+			errorMsg.info("Compilation successful for "+inputFileName+".");
 		}
+		errorMsg.flush();
 	}
 	
 	public void displayAst(AstNode ast) {
@@ -335,7 +568,7 @@ public class Main3 {
 		if (mode == PRINT) {
 			if (prettyPrint) {
 				PrettyPrinter pp = new PrettyPrinter(true);
-				pp.print(ast, new PrintStream(outputStream));
+				pp.printTo(ast, outputStream);
 			}
 			else {
 				TreeDrawer myObj = new TreeDrawer(ast, null);
@@ -349,6 +582,19 @@ public class Main3 {
 		}
 	}
 	
+	/**
+	 * reports a fatal error: exits when run from the command line, otherwise
+	 * aborts only the current compilation
+	 * @param msg the error message
+	 */
+	void fail(String msg) {
+		if (exitOnError) {
+			if (errorMsg != null) errorMsg.flush();
+			exitError(msg);
+		}
+		throw new CompileAbortException(msg);
+	}
+	
 	public static void exitError(String msg) {
 		System.err.println(msg);
 		exit(1);
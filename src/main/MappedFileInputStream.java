@@ -0,0 +1,79 @@
+package main;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+/**
+ * an input stream over a memory-mapped file. The parsers read their input
+ * one byte at a time; reading from a mapping turns each of those reads into
+ * a memory access rather than a system call.
+ */
+class MappedFileInputStream extends InputStream {
+
+	private ByteBuffer buf;
+
+	private MappedFileInputStream(ByteBuffer b) {
+		buf = b;
+	}
+
+	/**
+	 * opens a file for reading, mapping it into memory if possible. Files
+	 * too large to map in one piece are read through a buffered stream.
+	 * @param fileName the name of the file
+	 * @return the stream
+	 * @throws IOException if the file cannot be opened
+	 */
+	static InputStream open(String fileName) throws IOException {
+		try (FileChannel ch = FileChannel.open(Paths.get(fileName),
+				StandardOpenOption.READ)) {
+			long size = ch.size();
+			if (size > Integer.MAX_VALUE) {
+				return new BufferedInputStream(new FileInputStream(fileName), 1 << 16);
+			}
+			// the mapping remains valid after the channel is closed
+			return new MappedFileInputStream(
+					ch.map(FileChannel.MapMode.READ_ONLY, 0, size));
+		}
+		catch (InvalidPathException ipx) {
+			throw new FileNotFoundException(fileName);
+		}
+		catch (NoSuchFileException nsfx) {
+			throw new FileNotFoundException(fileName);
+		}
+	}
+
+	/**
+	 * @return a read-only view of the unread part of the file
+	 */
+	ByteBuffer contents() {
+		return buf.asReadOnlyBuffer();
+	}
+
+	public int read() {
+		return buf.hasRemaining() ? (buf.get() & 0xff) : -1;
+	}
+
+	public int read(byte[] b, int off, int len) {
+		if (len == 0) return 0;
+		if (!buf.hasRemaining()) return -1;
+		int n = Math.min(len, buf.remaining());
+		buf.get(b, off, n);
+		return n;
+	}
+
+	public long skip(long n) {
+		int k = (int)Math.max(0, Math.min(n, buf.remaining()));
+		buf.position(buf.position() + k);
+		return k;
+	}
+
+	public int available() {
+		return buf.remaining();
+	}
+
+	public void close() {
+		buf = ByteBuffer.allocate(0);
+	}
+}
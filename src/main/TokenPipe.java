@@ -0,0 +1,138 @@
+package main;
+
+import java.io.*;
+
+/**
+ * a bounded, in-memory byte pipe between a producer thread (the scanner) and
+ * a consumer thread (the grammar parser), implemented as a ring buffer.
+ * Unlike java.io.PipedInputStream, a reader waiting on an empty buffer is
+ * woken as soon as data arrives, and a writer whose reader has gone away
+ * discards its data rather than failing.
+ */
+class TokenPipe {
+
+	static final int DEFAULT_CAPACITY = 1 << 16;
+
+	private final byte[] buf;
+	private int readPos; // index of the next byte to read
+	private int count; // number of bytes in the buffer
+	private boolean writerClosed;
+	private boolean readerClosed;
+
+	private final InputStream inputStream = new PipeInputStream();
+	private final OutputStream outputStream = new PipeOutputStream();
+
+	TokenPipe() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	TokenPipe(int capacity) {
+		buf = new byte[capacity];
+	}
+
+	/**
+	 * @return the stream the consumer reads from
+	 */
+	InputStream getInputStream() {
+		return inputStream;
+	}
+
+	/**
+	 * @return the stream the producer writes to
+	 */
+	OutputStream getOutputStream() {
+		return outputStream;
+	}
+
+	private synchronized void put(byte[] b, int off, int len)
+			throws IOException {
+		while (len > 0) {
+			while (count == buf.length && !readerClosed) {
+				await();
+			}
+			if (readerClosed) return; // nobody is listening
+			if (writerClosed) throw new IOException("Pipe closed");
+			int writePos = (readPos + count) % buf.length;
+			int n = Math.min(len, buf.length - count);
+			n = Math.min(n, buf.length - writePos);
+			System.arraycopy(b, off, buf, writePos, n);
+			count += n;
+			off += n;
+			len -= n;
+			notifyAll();
+		}
+	}
+
+	private synchronized int take(byte[] b, int off, int len)
+			throws IOException {
+		if (len == 0) return 0;
+		while (count == 0 && !writerClosed && !readerClosed) {
+			await();
+		}
+		if (count == 0 || readerClosed) return -1;
+		int n = Math.min(len, count);
+		n = Math.min(n, buf.length - readPos);
+		System.arraycopy(buf, readPos, b, off, n);
+		readPos = (readPos + n) % buf.length;
+		count -= n;
+		notifyAll();
+		return n;
+	}
+
+	private synchronized void closeWriter() {
+		writerClosed = true;
+		notifyAll();
+	}
+
+	/**
+	 * discards any buffered data and all data written from now on
+	 */
+	synchronized void closeReader() {
+		readerClosed = true;
+		count = 0;
+		notifyAll();
+	}
+
+	private void await() throws InterruptedIOException {
+		try {
+			wait();
+		}
+		catch (InterruptedException ix) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		}
+	}
+
+	private class PipeInputStream extends InputStream {
+		private final byte[] one = new byte[1]; // for single-byte reads
+
+		public int read() throws IOException {
+			return take(one, 0, 1) < 0 ? -1 : (one[0] & 0xff);
+		}
+
+		public int read(byte[] b, int off, int len) throws IOException {
+			return take(b, off, len);
+		}
+
+		public void close() {
+			closeReader();
+		}
+	}
+
+	private class PipeOutputStream extends OutputStream {
+		private final byte[] one = new byte[1]; // for single-byte writes
+
+		public void write(int b) throws IOException {
+			one[0] = (byte)b;
+			put(one, 0, 1);
+		}
+
+		public void write(byte[] b, int off, int len) throws IOException {
+			put(b, off, len);
+		}
+
+		public void close() {
+			closeWriter();
+		}
+	}
+}
@@ -2,11 +2,21 @@ package prettyPrinter;
 
 import syntaxtree.AstNode;
 import syntaxtree.AstList;
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
 
 public class PrettyPrinter {
+	// flush policies for printTo
+	public static final int FLUSH_AT_END = 0; // flush once, when done
+	public static final int FLUSH_PER_CLASS = 1; // also after each class
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
 	private boolean printLinks;
 	private int indent = 0;
+	private String[] indents = {""}; // indents[i] is the prefix for level i
+	private int flushPolicy = FLUSH_AT_END;
 
 	public PrettyPrinter(boolean printLinks) {
 		this.printLinks = printLinks;
@@ -15,6 +25,14 @@ public class PrettyPrinter {
 	public boolean printLinks() {
 		return printLinks;
 	}
+
+	/**
+	 * sets when printTo flushes its output
+	 * @param policy FLUSH_AT_END or FLUSH_PER_CLASS
+	 */
+	public void setFlushPolicy(int policy) {
+		flushPolicy = policy;
+	}
 	
 	public void indent() {
 		indent++;
@@ -23,15 +41,44 @@ public class PrettyPrinter {
 		indent--;
 	}
 	public String is() {
-		String rtnVal = "";
-		for (int i = 0; i < indent; i++) {
-			rtnVal += "  ";
+		if (indent >= indents.length) {
+			String[] newIndents = new String[Math.max(indent+1, 2*indents.length)];
+			System.arraycopy(indents, 0, newIndents, 0, indents.length);
+			for (int i = indents.length; i < newIndents.length; i++) {
+				newIndents[i] = newIndents[i-1] + "  ";
+			}
+			indents = newIndents;
 		}
-		return rtnVal;
+		return indents[indent];
 	}
 	public void tab(PrintStream ps) {
 		ps.print(is());
 	}
+
+	/**
+	 * called when a class has been printed
+	 * @param ps the stream it was printed to
+	 */
+	public void endOfClass(PrintStream ps) {
+		if (flushPolicy == FLUSH_PER_CLASS) {
+			ps.flush();
+		}
+	}
+
+	/**
+	 * prints a tree through a private buffer, which is flushed according to
+	 * the flush policy and when done. Unlike print, it does not depend on
+	 * how the given stream is buffered (System.out, for instance, flushes
+	 * at every newline).
+	 * @param node the tree
+	 * @param out the stream to print to; it is flushed but not closed
+	 */
+	public void printTo(AstNode node, OutputStream out) {
+		PrintStream ps = new PrintStream(new BufferedOutputStream(out, BUFFER_SIZE), false);
+		print(node, ps);
+		ps.flush();
+	}
+
 	public void print(AstNode node, PrintStream ps) {
 		if (node == null) {
 			ps.print("??null??");
@@ -18,6 +18,10 @@ public class And extends BinExp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.AND;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitAnd(this);
 	}
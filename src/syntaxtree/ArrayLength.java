@@ -22,6 +22,10 @@ public class ArrayLength extends UnExp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 	
+	public int kind() {
+		return NodeKind.ARRAY_LENGTH;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitArrayLength(this);
 	}
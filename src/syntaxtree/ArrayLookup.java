@@ -28,6 +28,10 @@ public class ArrayLookup extends Exp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.ARRAY_LOOKUP;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitArrayLookup(this);
 	}
@@ -40,6 +44,10 @@ public class ArrayLookup extends Exp {
 		throw new TreeDrawException();
 	}
 
+	public int childCount() {
+		return 2;
+	}
+
 	
 	/*************** remaining methods are for pretty-print ****************/
 	public void prettyPrint(PrettyPrinter pp, PrintStream ps) {
@@ -42,6 +42,10 @@ public class ArrayType extends Type {
 	
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.ARRAY_TYPE;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitArrayType(this);
 	}
@@ -52,6 +56,10 @@ public class ArrayType extends Type {
 		}
 		throw new TreeDrawException();
 	}
+
+	public int childCount() {
+		return 1;
+	}
 	
 	public String toString2() {
 		return ""+baseType.toString2()+"[]";
@@ -29,6 +29,10 @@ public class Assign extends Statement {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 	
+	public int kind() {
+		return NodeKind.ASSIGN;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitAssign(this);
 	}
@@ -41,6 +45,10 @@ public class Assign extends Statement {
 		throw new TreeDrawException();
 	}
 
+	public int childCount() {
+		return 2;
+	}
+
 	
 	/*************** remaining methods are for pretty-print ****************/
 	public void prettyPrint(PrettyPrinter pp, PrintStream ps) {
@@ -0,0 +1,110 @@
+package syntaxtree;
+
+/**
+ * the per-compilation state that AST nodes need while they are being
+ * created: the allocator for their unique IDs, and the table of the names
+ * they use. Within one compilation, IDs and name symbols are dense, so
+ * they can be used as array indices.
+ *
+ * The MJGrammar parser creates nodes through their ordinary constructors,
+ * so the context cannot be passed along explicitly; instead, each thread
+ * has a current context, installed with enter and removed with exit.
+ * Asking for the context on a thread that has none is an error: a context
+ * made up on the spot would hand out IDs that collide with those of the
+ * predefined classes, and thus with the slots that node attributes keep
+ * for them. A compilation runs on one thread, so neither the context nor the
+ * allocator needs to be synchronized, and compilations running on
+ * different threads do not share IDs or symbols.
+ */
+public final class AstContext {
+
+	// the context of the compilation running on each thread; null on a
+	// thread that has not entered one
+	private static final ThreadLocal<AstContext> current =
+		new ThreadLocal<AstContext>();
+
+	private int nextId; // the ID the next node will get
+	private final NameTable names; // the names used by the nodes
+
+	/**
+	 * constructor
+	 * @param firstId the ID of the first node created in this context; IDs
+	 *  below it are reserved
+	 */
+	public AstContext(int firstId) {
+		nextId = firstId;
+		names = new NameTable();
+	}
+
+	/**
+	 * constructor -- extends another context, whose nodes (e.g., those of
+	 * the predefined classes) are then part of this one: this context's
+	 * IDs follow the other's, and its names start with the other's names.
+	 * The other context should no longer be used to create nodes.
+	 * @param base the context to extend
+	 */
+	public AstContext(AstContext base) {
+		nextId = base.nextId;
+		names = base.names.copy();
+	}
+
+	/**
+	 * @return the context of the current thread
+	 * @throws IllegalStateException if the thread has not entered a context
+	 */
+	public static AstContext current() {
+		AstContext rtnVal = current.get();
+		if (rtnVal == null) {
+			throw new IllegalStateException("no AST context on thread "+
+					Thread.currentThread().getName());
+		}
+		return rtnVal;
+	}
+
+	/**
+	 * makes a context current for the current thread
+	 * @param ctx the context
+	 * @return the context that was current (null if none), to be passed
+	 *  to exit
+	 */
+	public static AstContext enter(AstContext ctx) {
+		AstContext rtnVal = current.get();
+		current.set(ctx);
+		return rtnVal;
+	}
+
+	/**
+	 * restores the context that was current before a call to enter
+	 * @param previous the value returned by enter
+	 */
+	public static void exit(AstContext previous) {
+		if (previous == null) {
+			current.remove();
+		}
+		else {
+			current.set(previous);
+		}
+	}
+
+	/**
+	 * @return a new node ID
+	 */
+	int newId() {
+		return nextId++;
+	}
+
+	/**
+	 * @return the table of names used by this context's nodes
+	 */
+	public NameTable names() {
+		return names;
+	}
+
+	/**
+	 * @return one more than the largest ID handed out so far, i.e., the
+	 *  size of an array indexed by node ID
+	 */
+	public int idLimit() {
+		return nextId;
+	}
+}
@@ -1,7 +1,7 @@
 package syntaxtree;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Vector;
 import java.io.PrintStream;
 
 import prettyPrinter.PrettyPrinter;
@@ -12,7 +12,7 @@ import visitor.Visitor;
  * a list of a given AST node type (abstract)
  * @param <T> the base type of the list
  */
-public abstract class AstList<T> extends Vector<T> implements TreeDisplayable {
+public abstract class AstList<T> extends ArrayList<T> implements TreeDisplayable {
 
 	/**
 	 * constructor -- initializes to an empty list
@@ -31,12 +31,17 @@ public abstract class AstList<T> extends Vector<T> implements TreeDisplayable {
 		this.addAll(lst);
 	}
 
+	/**
+	 * @return the list's NodeKind code
+	 */
+	public abstract int kind();
+
 	/**
 	 * adds an element to the end of the list
 	 * @param n the element to add
 	 */
 	public void addElement(T n) {
-		super.addElement(n);
+		super.add(n);
 	}
 
 	/**
@@ -44,7 +49,24 @@ public abstract class AstList<T> extends Vector<T> implements TreeDisplayable {
 	 * @param n the element to add
 	 */
 	public void addElementAtFront(T n) {
-		super.insertElementAt(n, 0);
+		super.add(0, n);
+	}
+
+	/**
+	 * inserts an element into the list
+	 * @param n the element to add
+	 * @param index the position at which to add it
+	 */
+	public void insertElementAt(T n, int index) {
+		super.add(index, n);
+	}
+
+	/**
+	 * @param index a position in the list
+	 * @return the element at the position
+	 */
+	public T elementAt(int index) {
+		return super.get(index);
 	}
 	
 	/*************** remaining methods are visitor- and display-related ****************/
@@ -52,12 +74,14 @@ public abstract class AstList<T> extends Vector<T> implements TreeDisplayable {
 	public abstract Object accept(Visitor v);
 
 	public TreeDisplayable getDrawTreeSubobj(int n) throws TreeDrawException {
-		try {
-			return (TreeDisplayable)this.elementAt(n);
-		}
-		catch (Exception x) {
+		if (n < 0 || n >= this.size()) {
 			throw new TreeDrawException();
 		}
+		return (TreeDisplayable)this.get(n);
+	}
+
+	public int childCount() {
+		return this.size();
 	}
 
 	public TreeDisplayable[] getDrawTreeLinks() {
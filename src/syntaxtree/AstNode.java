@@ -13,10 +13,7 @@ public abstract class AstNode implements TreeDisplayable {
 
 	// instance variables filled in by constructor
 	public int pos; // the character-position of this construct in the source file
-	public int uniqueId; // the object's unique ID
-
-	// static variable used to generate unique IDs
-	private static int uniqueIdCounter = 0;
+	public int uniqueId; // the object's ID, unique within its compilation
 
 	/**
 	 * constructor
@@ -24,8 +21,13 @@ public abstract class AstNode implements TreeDisplayable {
 	 */
 	public AstNode(int poss) {
 		pos = poss;
-		uniqueId = uniqueIdCounter++;
+		uniqueId = AstContext.current().newId();
 	}
+
+	/**
+	 * @return the node's NodeKind code
+	 */
+	public abstract int kind();
 	
 	/*************** remaining methods are visitor- and display-related ****************/
 
@@ -40,6 +42,10 @@ public abstract class AstNode implements TreeDisplayable {
 		throw new TreeDrawException();
 	}
 
+	public int childCount() {
+		return 0;
+	}
+
 	public TreeDisplayable[] getDrawTreeLinks() {
 		AstNode helper[] = this.links();
 		if (helper == null) return null;
@@ -87,34 +93,35 @@ public abstract class AstNode implements TreeDisplayable {
 	}
 	public String[] tempStrs() { return stringsInDescr();}
 	public String shortDescription(Object auxData) {
-		String idStr = "#"+uniqueId;
-		String posField = "";
+		StringBuilder sb = new StringBuilder(64);
+		appendShortDescription(sb, auxData);
+		return sb.toString();
+	}
+
+	public void appendShortDescription(StringBuilder sb, Object auxData) {
+		sb.append(this.shortClassName());
 		String[] strings = this.stringsInDescr();
-		String stringDesc = "";
 		if (strings != null && strings.length > 0) {
-			stringDesc = "["+strings[0];
+			sb.append('[').append(strings[0]);
 			for (int i = 1; i < strings.length; i++) {
-				stringDesc += "," + strings[i];
+				sb.append(',').append(strings[i]);
 			}
-			stringDesc += "]";
+			sb.append(']');
 		}
+		sb.append('#').append(uniqueId);
 		if (auxData != null) {
-			posField += ":"+((ErrorMsg)auxData).lineAndChar(pos);
+			sb.append(':').append(((ErrorMsg)auxData).lineAndChar(pos));
 		}
-		String linkString = "";
 		AstNode[] theLinks = this.links();
 		if (theLinks != null) {
 			for (int i = 0; i < theLinks.length; i++) {
 				AstNode obj = theLinks[i];
-				if (obj == null) {
-					linkString += ";";
-				}
-				else {
-					linkString += ";@"+obj.uniqueId;
+				sb.append(';');
+				if (obj != null) {
+					sb.append('@').append(obj.uniqueId);
 				}
 			}
 		}
-		return this.shortClassName()+stringDesc+idStr+posField+linkString;
 	}
 
 	public String longDescription(Object auxData) {
@@ -133,7 +140,8 @@ public abstract class AstNode implements TreeDisplayable {
 	private String argsAsString(int depth) {
 		if (depth <= 0) return "...";
 		String rtnVal = "";
-		for (int i = 0; ; i++) {
+		int numSubobjs = childCount();
+		for (int i = 0; i < numSubobjs; i++) {
 			try {
 				TreeDisplayable td = getDrawTreeSubobj(i);
 				if (td == null) break;
@@ -40,6 +40,10 @@ public abstract class BinExp extends Exp {
 		}
 		throw new TreeDrawException();
 	}
+
+	public int childCount() {
+		return 2;
+	}
 	/*************** remaining methods are for pretty-print ****************/
 	public abstract String opString();
 	public void prettyPrint(PrettyPrinter pp, PrintStream ps) {
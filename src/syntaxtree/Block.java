@@ -26,6 +26,10 @@ public class Block extends Statement {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 	
+	public int kind() {
+		return NodeKind.BLOCK;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitBlock(this);
 	}
@@ -38,6 +42,10 @@ public class Block extends Statement {
 		throw new TreeDrawException();
 	}
 
+	public int childCount() {
+		return 1;
+	}
+
 	/*************** remaining methods are for pretty-print ****************/
 	public void prettyPrint(PrettyPrinter pp, PrintStream ps) {
 		pp.tab(ps);
@@ -37,6 +37,10 @@ public class BooleanType extends Type {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.BOOLEAN_TYPE;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitBooleanType(this);
 	}
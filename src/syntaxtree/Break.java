@@ -24,6 +24,10 @@ public class Break extends Statement {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 	
+	public int kind() {
+		return NodeKind.BREAK;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitBreak(this);
 	}
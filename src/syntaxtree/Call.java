@@ -14,6 +14,7 @@ public class Call extends Exp {
 	// instance variables filled in by constructor
 	public Exp obj; // the object on which the method is being called
 	public String methName; // the name of the method being called
+	public int methSym; // the method name's symbol (see AstContext.names)
 	public ExpList parms; // the list of actual parameters in the call
 
 	// instance variables filled in during later phases
@@ -28,12 +29,18 @@ public class Call extends Exp {
 	 */
 	public Call(int pos, Exp aobj, String amethName, ExpList aparms) {
 		super(pos);
-		obj=aobj; methName=amethName; parms=aparms;
+		NameTable names = AstContext.current().names();
+		methSym = names.intern(amethName);
+		obj=aobj; methName=names.name(methSym); parms=aparms;
 		methodLink = null;
 	}
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.CALL;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitCall(this);
 	}
@@ -45,6 +52,10 @@ public class Call extends Exp {
 		}
 		throw new TreeDrawException();
 	}
+
+	public int childCount() {
+		return 2;
+	}
 	protected String[]stringsInDescr() {
 		return strArrayPlus1(methName,super.stringsInDescr());
 	}
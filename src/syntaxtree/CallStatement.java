@@ -26,6 +26,10 @@ public class CallStatement extends Statement {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.CALL_STATEMENT;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitCallStatement(this);
 	}
@@ -36,6 +40,10 @@ public class CallStatement extends Statement {
 		}
 		throw new TreeDrawException();
 	}
+
+	public int childCount() {
+		return 1;
+	}
 	
 	/*************** remaining methods are for pretty-print ****************/
 	public void prettyPrint(PrettyPrinter pp, PrintStream ps) {
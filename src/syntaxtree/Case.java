@@ -35,6 +35,10 @@ public class Case extends Label {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.CASE;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitCase(this);
 	}
@@ -46,6 +50,10 @@ public class Case extends Label {
 		throw new TreeDrawException();
 	}
 
+	public int childCount() {
+		return 1;
+	}
+
 	
 	/*************** remaining methods are for pretty-print ****************/
 	public void prettyPrint(PrettyPrinter pp, PrintStream ps) {
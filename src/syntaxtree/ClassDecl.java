@@ -4,7 +4,6 @@ import treedisplay.TreeDrawException;
 import visitor.Visitor;
 
 import java.io.PrintStream;
-import java.util.*;
 
 import prettyPrinter.PrettyPrinter;
 
@@ -14,15 +13,18 @@ import prettyPrinter.PrettyPrinter;
 public class ClassDecl extends Decl {
 	// instance variables filled in by constructor
 	public String superName; // superclass name
+	public int superSym; // the superclass name's symbol (see AstContext.names)
 	public DeclList decls; // list of declarations
 
 	// instance variables filled in during later phases
 	public ClassDecl superLink; // link to superclass declaration
 	public ClassDeclList subclasses; // list of subclasses
-	public Hashtable<String,InstVarDecl> instVarTable; // symbol table for instance variables
-	public Hashtable<String,MethodDecl> methodTable; // symbol table for methods
+	public SymbolMap<InstVarDecl> instVarTable; // symbol table for instance variables, by name symbol
+	public SymbolMap<MethodDecl> methodTable; // symbol table for methods, by name symbol
+	public SymbolMap<InstVarDecl> allInstVarTable; // instance variables, including inherited ones
 	public int numDataInstVars; // number of non-object instance variables
 	public int numObjInstVars; // number of object instance variables
+	public VTable vtable; // the methods that calls dispatch to, by slot
 
 	/**
 	 * constructor
@@ -34,15 +36,21 @@ public class ClassDecl extends Decl {
 	public ClassDecl(int pos, String aname, String asuperName, 
 			DeclList aDeclList) {
 		super(pos, aname);
-		superName=asuperName; decls = aDeclList;
+		NameTable names = AstContext.current().names();
+		superSym = names.intern(asuperName);
+		superName = names.name(superSym); decls = aDeclList;
 		superLink = null;
 		subclasses = new ClassDeclList();
-		instVarTable = new Hashtable<String,InstVarDecl>();
-		methodTable = new Hashtable<String,MethodDecl>();
+		instVarTable = new SymbolMap<InstVarDecl>();
+		methodTable = new SymbolMap<MethodDecl>();
 	}
 
 	/*************** remaining methods are visitor- and display-related ****************/
 	
+	public int kind() {
+		return NodeKind.CLASS_DECL;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitClassDecl(this);
 	}
@@ -54,6 +62,10 @@ public class ClassDecl extends Decl {
 		throw new TreeDrawException();
 	}
 
+	public int childCount() {
+		return 1;
+	}
+
 	protected String[]stringsInDescr() {
 		return strArrayPlus1(super.stringsInDescr(), superName);
 	}
@@ -79,5 +91,6 @@ public class ClassDecl extends Decl {
 		pp.unindent();
 		pp.tab(ps);
 		ps.println("}");
+		pp.endOfClass(ps);
 	}
 }
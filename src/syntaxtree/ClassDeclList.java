@@ -16,6 +16,10 @@ public class ClassDeclList extends AstList<ClassDecl> {
 		super(lst);
 	}
 	
+	public int kind() {
+		return NodeKind.CLASS_DECL_LIST;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitClassDeclList(this);
 	}
@@ -8,6 +8,7 @@ public abstract class Decl extends AstNode {
 	
 	// instance variables filled in by constructor
 	public String name; // the name being declared
+	public int nameSym; // the name's symbol (see AstContext.names)
 
 	/**
 	 * constructor
@@ -16,7 +17,9 @@ public abstract class Decl extends AstNode {
 	 */
 	public Decl(int pos, String aname) {
 		super(pos);
-		name=aname;
+		NameTable names = AstContext.current().names();
+		nameSym = names.intern(aname);
+		name = names.name(nameSym); // one String object per name
 	}
 
 	/*************** remaining methods are visitor- and display-related ****************/
@@ -17,6 +17,10 @@ public class DeclList extends AstList<Decl> {
 		super(lst);
 	}
 	
+	public int kind() {
+		return NodeKind.DECL_LIST;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitDeclList(this);
 	}
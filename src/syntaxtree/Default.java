@@ -19,6 +19,10 @@ public class Default extends Label {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.DEFAULT;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitDefault(this);
 	}
@@ -18,6 +18,10 @@ public class Divide extends BinExp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.DIVIDE;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitDivide(this);
 	}
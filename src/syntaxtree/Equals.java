@@ -18,6 +18,10 @@ public class Equals extends BinExp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.EQUALS;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitEquals(this);
 	}
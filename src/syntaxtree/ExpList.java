@@ -17,6 +17,10 @@ public class ExpList extends AstList<Exp> {
 		super(lst);
 	}
 	
+	public int kind() {
+		return NodeKind.EXP_LIST;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitExpList(this);
 	}
@@ -19,6 +19,10 @@ public class False extends Exp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.FALSE;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitFalse(this);
 	}
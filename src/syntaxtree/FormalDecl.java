@@ -23,6 +23,10 @@ public class FormalDecl extends VarDecl {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.FORMAL_DECL;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitFormalDecl(this);
 	}
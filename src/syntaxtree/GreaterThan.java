@@ -25,6 +25,10 @@ public class GreaterThan extends BinExp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.GREATER_THAN;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitGreaterThan(this);
 	}
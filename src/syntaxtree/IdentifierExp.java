@@ -11,6 +11,7 @@ public class IdentifierExp extends Exp {
 	
 	// instance variables filled in by constructor
 	public String name; // the name of the variable
+	public int nameSym; // the name's symbol (see AstContext.names)
 	
 	// instance variables filled in during later phases
 	public VarDecl link; // the declaration of the variable
@@ -22,12 +23,18 @@ public class IdentifierExp extends Exp {
 	 */
 	public IdentifierExp(int pos, String aname) {
 		super(pos);
-		name=aname;
+		NameTable names = AstContext.current().names();
+		nameSym = names.intern(aname);
+		name = names.name(nameSym);
 		link=null;
 	}
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.IDENTIFIER_EXP;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitIdentifierExp(this);
 	}
@@ -11,6 +11,7 @@ public class IdentifierType extends Type {
 	
 	// instance variables filled in by constructor
 	public String name; // the name of the type
+	public int nameSym; // the name's symbol (see AstContext.names)
 
 	// instance variables filled in during later phases
 	public ClassDecl link; // the type declaration
@@ -22,7 +23,9 @@ public class IdentifierType extends Type {
 	 */
 	public IdentifierType(int pos, String aname) {
 		super(pos);
-		name=aname;
+		NameTable names = AstContext.current().names();
+		nameSym = names.intern(aname);
+		name = names.name(nameSym);
 		link = null;
 	}
 	
@@ -51,6 +54,10 @@ public class IdentifierType extends Type {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.IDENTIFIER_TYPE;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitIdentifierType(this);
 	}
@@ -30,6 +30,10 @@ public class If extends Statement {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.IF;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitIf(this);
 	}
@@ -42,6 +46,10 @@ public class If extends Statement {
 		}
 		throw new TreeDrawException();
 	}
+
+	public int childCount() {
+		return 3;
+	}
 	
 	/*************** remaining methods are for pretty-print ****************/
 	public void prettyPrint(PrettyPrinter pp, PrintStream ps) {
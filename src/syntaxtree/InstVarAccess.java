@@ -14,6 +14,7 @@ public class InstVarAccess extends Exp {
 	// instance variables filled in by constructor
 	public Exp exp; // the expression denoting the object to access
 	public String varName; // the name of the instance variable in the object
+	public int varSym; // the variable name's symbol (see AstContext.names)
 
 	// instance variables filled in during later phases
 	public InstVarDecl varDec; // declaration of the instance variable being accessed
@@ -26,11 +27,17 @@ public class InstVarAccess extends Exp {
 	 */
 	public InstVarAccess(int pos, Exp aexp, String avarName) {
 		super(pos);
-		exp=aexp; varName=avarName;
+		NameTable names = AstContext.current().names();
+		varSym = names.intern(avarName);
+		exp=aexp; varName=names.name(varSym);
 	}
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.INST_VAR_ACCESS;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitInstVarAccess(this);
 	}
@@ -42,6 +49,10 @@ public class InstVarAccess extends Exp {
 		throw new TreeDrawException();
 	}
 
+	public int childCount() {
+		return 1;
+	}
+
 	protected String[]stringsInDescr() {
 		return strArrayPlus1(varName, super.stringsInDescr());
 	}
@@ -21,6 +21,10 @@ public class InstVarDecl extends VarDecl {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.INST_VAR_DECL;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitInstVarDecl(this);
 	}
@@ -29,6 +29,10 @@ public class InstanceOf extends Exp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.INSTANCE_OF;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitInstanceOf(this);
 	}
@@ -40,6 +44,10 @@ public class InstanceOf extends Exp {
 		}
 		throw new TreeDrawException();
 	}
+
+	public int childCount() {
+		return 2;
+	}
 	/*************** remaining methods are for pretty-print ****************/
 	public void prettyPrint(PrettyPrinter pp, PrintStream ps) {
 		ps.print("(");
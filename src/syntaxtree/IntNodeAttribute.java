@@ -0,0 +1,69 @@
+package syntaxtree;
+
+import java.util.Arrays;
+
+/**
+ * an int attached to AST nodes (e.g., an offset), stored in an int array
+ * indexed by node ID. Nodes for which no value has been set have the
+ * attribute's default value. Like NodeAttribute, it is not synchronized.
+ */
+public class IntNodeAttribute {
+
+	private int[] values; // indexed by node ID
+	private final int defaultValue; // the value of nodes never set
+
+	/**
+	 * constructor -- sized for the nodes created so far in a context
+	 * @param ctx the compilation's context
+	 * @param defaultValue the value of nodes that have not been set
+	 */
+	public IntNodeAttribute(AstContext ctx, int defaultValue) {
+		this(ctx.idLimit(), defaultValue);
+	}
+
+	/**
+	 * constructor
+	 * @param idLimit the expected bound on the IDs of the nodes
+	 * @param defaultValue the value of nodes that have not been set
+	 */
+	public IntNodeAttribute(int idLimit, int defaultValue) {
+		this.defaultValue = defaultValue;
+		values = new int[Math.max(idLimit, 16)];
+		if (defaultValue != 0) {
+			Arrays.fill(values, defaultValue);
+		}
+	}
+
+	/**
+	 * @param n a node
+	 * @return the node's value
+	 */
+	public int get(AstNode n) {
+		int id = n.uniqueId;
+		return id < values.length ? values[id] : defaultValue;
+	}
+
+	/**
+	 * sets a node's value
+	 * @param n the node
+	 * @param value the value
+	 */
+	public void set(AstNode n, int value) {
+		int id = n.uniqueId;
+		if (id >= values.length) {
+			int oldLength = values.length;
+			values = Arrays.copyOf(values, Math.max(id+1, 2*oldLength));
+			if (defaultValue != 0) {
+				Arrays.fill(values, oldLength, values.length, defaultValue);
+			}
+		}
+		values[id] = value;
+	}
+
+	/**
+	 * resets every node to the default value
+	 */
+	public void clear() {
+		Arrays.fill(values, defaultValue);
+	}
+}
@@ -24,6 +24,10 @@ public class IntegerLiteral extends Exp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.INTEGER_LITERAL;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitIntegerLiteral(this);
 	}
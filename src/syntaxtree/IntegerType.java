@@ -37,6 +37,10 @@ public class IntegerType extends Type {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.INTEGER_TYPE;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitIntegerType(this);
 	}
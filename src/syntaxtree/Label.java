@@ -44,5 +44,9 @@ public abstract class Label extends Statement {
 		}
 		throw new TreeDrawException();
 	}
+
+	public int childCount() {
+		return 0;
+	}
 }
 
@@ -18,6 +18,10 @@ public class LessThan extends BinExp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.LESS_THAN;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitLessThan(this);
 	}
@@ -28,6 +28,10 @@ public class LocalVarDecl extends VarDecl {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.LOCAL_VAR_DECL;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitLocalVarDecl(this);
 	}
@@ -39,6 +43,10 @@ public class LocalVarDecl extends VarDecl {
 		}
 		throw new TreeDrawException();
 	}
+
+	public int childCount() {
+		return 2;
+	}
 	/*************** remaining methods are for pretty-print ****************/
 	public void prettyPrint(PrettyPrinter pp, PrintStream ps) {
 		pp.print(this.type, ps);
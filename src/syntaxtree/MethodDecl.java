@@ -49,6 +49,10 @@ public abstract class MethodDecl extends Decl {
 		throw new TreeDrawException();
 	}
 
+	public int childCount() {
+		return 2;
+	}
+
 	public AstNode[] links() {
 		return new AstNode[]{superMethod};
 	}
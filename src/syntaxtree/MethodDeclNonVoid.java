@@ -33,6 +33,10 @@ public class MethodDeclNonVoid extends MethodDecl {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.METHOD_DECL_NON_VOID;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitMethodDeclNonVoid(this);
 	}
@@ -47,6 +51,10 @@ public class MethodDeclNonVoid extends MethodDecl {
 		throw new TreeDrawException();
 	}
 
+	public int childCount() {
+		return 4;
+	}
+
 	
 	/*************** remaining methods are for pretty-print ****************/
 	public void prettyPrint(PrettyPrinter pp, PrintStream ps) {
@@ -23,6 +23,10 @@ public class MethodDeclVoid extends MethodDecl {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.METHOD_DECL_VOID;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitMethodDeclVoid(this);
 	}
@@ -18,6 +18,10 @@ public class Minus extends BinExp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.MINUS;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitMinus(this);
 	}
@@ -0,0 +1,119 @@
+package syntaxtree;
+
+/**
+ * the names (identifiers) of one compilation, each mapped to a small
+ * integer symbol. Symbols are numbered densely from 0, so a table keyed by
+ * name can be an array indexed by symbol; the name's string, which is the
+ * same String object for every occurrence, is available from name(sym).
+ */
+public final class NameTable {
+
+	// open-addressing table from name to symbol
+	private String[] keys;
+	private int[] syms;
+
+	private String[] names; // indexed by symbol
+	private int count; // the number of symbols
+
+	/**
+	 * constructor -- creates an empty table
+	 */
+	public NameTable() {
+		keys = new String[256];
+		syms = new int[256];
+		names = new String[128];
+	}
+
+	// a copy of another table
+	private NameTable(NameTable other) {
+		keys = other.keys.clone();
+		syms = other.syms.clone();
+		names = other.names.clone();
+		count = other.count;
+	}
+
+	/**
+	 * @return a copy of this table, which can then grow independently
+	 */
+	public NameTable copy() {
+		return new NameTable(this);
+	}
+
+	/**
+	 * @param name a name, or null
+	 * @return the name's symbol, which is created if needed; -1 for null
+	 */
+	public int intern(String name) {
+		if (name == null) return -1;
+		int mask = keys.length - 1;
+		int i = mix(name.hashCode()) & mask;
+		for (;;) {
+			String k = keys[i];
+			if (k == null) break;
+			if (k == name || k.equals(name)) return syms[i];
+			i = (i + 1) & mask;
+		}
+		if (count == names.length) {
+			String[] newNames = new String[2*count];
+			System.arraycopy(names, 0, newNames, 0, count);
+			names = newNames;
+		}
+		keys[i] = name;
+		syms[i] = count;
+		names[count] = name;
+		if (2*(count+1) > keys.length) {
+			rehash();
+		}
+		return count++;
+	}
+
+	/**
+	 * @param name a name
+	 * @return the name's symbol, or -1 if it has none; unlike intern, this
+	 *  never adds to the table
+	 */
+	public int lookup(String name) {
+		int mask = keys.length - 1;
+		for (int i = mix(name.hashCode()) & mask; keys[i] != null; i = (i + 1) & mask) {
+			if (keys[i] == name || keys[i].equals(name)) return syms[i];
+		}
+		return -1;
+	}
+
+	/**
+	 * @param sym a symbol
+	 * @return its name; null for -1
+	 */
+	public String name(int sym) {
+		return sym < 0 ? null : names[sym];
+	}
+
+	/**
+	 * @return the number of symbols, i.e., one more than the largest one
+	 */
+	public int size() {
+		return count;
+	}
+
+	private void rehash() {
+		String[] oldKeys = keys;
+		int[] oldSyms = syms;
+		keys = new String[2*oldKeys.length];
+		syms = new int[2*oldKeys.length];
+		int mask = keys.length - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldKeys[j] != null) {
+				int i = mix(oldKeys[j].hashCode()) & mask;
+				while (keys[i] != null) {
+					i = (i + 1) & mask;
+				}
+				keys[i] = oldKeys[j];
+				syms[i] = oldSyms[j];
+			}
+		}
+	}
+
+	private static int mix(int h) {
+		return h ^ (h >>> 16);
+	}
+}
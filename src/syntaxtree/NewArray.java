@@ -29,6 +29,10 @@ public class NewArray extends Exp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.NEW_ARRAY;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitNewArray(this);
 	}
@@ -41,6 +45,10 @@ public class NewArray extends Exp {
 		}
 		throw new TreeDrawException();
 	}
+
+	public int childCount() {
+		return 2;
+	}
 	
 	/*************** remaining methods are for pretty-print ****************/
 	public void prettyPrint(PrettyPrinter pp, PrintStream ps) {
@@ -26,6 +26,10 @@ public class NewObject extends Exp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.NEW_OBJECT;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitNewObject(this);
 	}
@@ -36,6 +40,10 @@ public class NewObject extends Exp {
 		}
 		throw new TreeDrawException();
 	}
+
+	public int childCount() {
+		return 1;
+	}
 	
 	/*************** remaining methods are for pretty-print ****************/
 	public void prettyPrint(PrettyPrinter pp, PrintStream ps) {
@@ -0,0 +1,64 @@
+package syntaxtree;
+
+import java.util.Arrays;
+
+/**
+ * a value of some type attached to AST nodes, stored outside the nodes in
+ * an array indexed by node ID (see AstContext). An analysis can record its
+ * results in attributes of its own instead of in fields of the nodes; the
+ * AST itself is then only read, so several analyses can run over it at
+ * once, and an analysis's results are discarded by dropping its attributes.
+ *
+ * An attribute is not synchronized; each should be written by one thread.
+ * @param <T> the type of the value
+ */
+public class NodeAttribute<T> {
+
+	private Object[] values; // indexed by node ID; null if not set
+
+	/**
+	 * constructor -- sized for the nodes created so far in a context
+	 * @param ctx the compilation's context
+	 */
+	public NodeAttribute(AstContext ctx) {
+		this(ctx.idLimit());
+	}
+
+	/**
+	 * constructor
+	 * @param idLimit the expected bound on the IDs of the nodes
+	 */
+	public NodeAttribute(int idLimit) {
+		values = new Object[Math.max(idLimit, 16)];
+	}
+
+	/**
+	 * @param n a node
+	 * @return the node's value, or null if none has been set
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(AstNode n) {
+		int id = n.uniqueId;
+		return id < values.length ? (T)values[id] : null;
+	}
+
+	/**
+	 * sets a node's value
+	 * @param n the node
+	 * @param value the value, or null to remove it
+	 */
+	public void set(AstNode n, T value) {
+		int id = n.uniqueId;
+		if (id >= values.length) {
+			values = Arrays.copyOf(values, Math.max(id+1, 2*values.length));
+		}
+		values[id] = value;
+	}
+
+	/**
+	 * removes all values
+	 */
+	public void clear() {
+		Arrays.fill(values, null);
+	}
+}
@@ -0,0 +1,124 @@
+package syntaxtree;
+
+/**
+ * small-integer codes for the concrete kinds of AST node. Each node class
+ * returns its code from kind(), so that code can switch on it rather
+ * than go through a chain of visit methods, and representations of the
+ * tree that do not use one object per node store it. Each list class has
+ * a code of its own; NULL stands for an absent (null) subtree and NAME for
+ * a bare name, such as a class's superclass name.
+ */
+public final class NodeKind {
+
+	// declarations
+	public static final int PROGRAM = 0;
+	public static final int CLASS_DECL = 1;
+	public static final int METHOD_DECL_VOID = 2;
+	public static final int METHOD_DECL_NON_VOID = 3;
+	public static final int INST_VAR_DECL = 4;
+	public static final int FORMAL_DECL = 5;
+	public static final int LOCAL_VAR_DECL = 6;
+
+	// types
+	public static final int INTEGER_TYPE = 7;
+	public static final int BOOLEAN_TYPE = 8;
+	public static final int VOID_TYPE = 9;
+	public static final int NULL_TYPE = 10;
+	public static final int IDENTIFIER_TYPE = 11;
+	public static final int ARRAY_TYPE = 12;
+
+	// statements
+	public static final int BLOCK = 13;
+	public static final int IF = 14;
+	public static final int WHILE = 15;
+	public static final int SWITCH = 16;
+	public static final int CASE = 17;
+	public static final int DEFAULT = 18;
+	public static final int BREAK = 19;
+	public static final int ASSIGN = 20;
+	public static final int CALL_STATEMENT = 21;
+	public static final int LOCAL_DECL_STATEMENT = 22;
+
+	// expressions
+	public static final int AND = 23;
+	public static final int OR = 24;
+	public static final int EQUALS = 25;
+	public static final int LESS_THAN = 26;
+	public static final int GREATER_THAN = 27;
+	public static final int PLUS = 28;
+	public static final int MINUS = 29;
+	public static final int TIMES = 30;
+	public static final int DIVIDE = 31;
+	public static final int REMAINDER = 32;
+	public static final int NOT = 33;
+	public static final int ARRAY_LENGTH = 34;
+	public static final int ARRAY_LOOKUP = 35;
+	public static final int CALL = 36;
+	public static final int CAST = 37;
+	public static final int INSTANCE_OF = 38;
+	public static final int IDENTIFIER_EXP = 39;
+	public static final int INST_VAR_ACCESS = 40;
+	public static final int INTEGER_LITERAL = 41;
+	public static final int STRING_LITERAL = 42;
+	public static final int NEW_ARRAY = 43;
+	public static final int NEW_OBJECT = 44;
+	public static final int NULL_LITERAL = 45; // the 'null' expression
+	public static final int TRUE = 46;
+	public static final int FALSE = 47;
+	public static final int THIS = 48;
+	public static final int SUPER = 49;
+
+	// lists
+	public static final int CLASS_DECL_LIST = 50;
+	public static final int DECL_LIST = 51;
+	public static final int VAR_DECL_LIST = 52;
+	public static final int STATEMENT_LIST = 53;
+	public static final int EXP_LIST = 54;
+
+	// not node classes
+	public static final int NULL = 55;
+	public static final int NAME = 56;
+
+	public static final int COUNT = 57; // the number of codes
+
+	// the name of each code
+	private static final String[] names = new String[COUNT];
+
+	static {
+		Class<?>[] classes = {
+			Program.class, ClassDecl.class, MethodDeclVoid.class,
+			MethodDeclNonVoid.class, InstVarDecl.class, FormalDecl.class,
+			LocalVarDecl.class,
+			IntegerType.class, BooleanType.class, VoidType.class,
+			NullType.class, IdentifierType.class, ArrayType.class,
+			Block.class, If.class, While.class, Switch.class, Case.class,
+			Default.class, Break.class, Assign.class, CallStatement.class,
+			LocalDeclStatement.class,
+			And.class, Or.class, Equals.class, LessThan.class,
+			GreaterThan.class, Plus.class, Minus.class, Times.class,
+			Divide.class, Remainder.class, Not.class, ArrayLength.class,
+			ArrayLookup.class, Call.class, Cast.class, InstanceOf.class,
+			IdentifierExp.class, InstVarAccess.class, IntegerLiteral.class,
+			StringLiteral.class, NewArray.class, NewObject.class,
+			Null.class, True.class, False.class, This.class, Super.class,
+			ClassDeclList.class, DeclList.class, VarDeclList.class,
+			StatementList.class, ExpList.class,
+		};
+		for (int i = 0; i < classes.length; i++) {
+			names[i] = classes[i].getSimpleName();
+		}
+		names[NULL] = "null";
+		names[NAME] = "name";
+	}
+
+	private NodeKind() {
+	}
+
+	/**
+	 * @param kind a code
+	 * @return a name for it (the node class's name, for node kinds)
+	 */
+	public static String name(int kind) {
+		return names[kind];
+	}
+}
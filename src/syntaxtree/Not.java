@@ -20,6 +20,10 @@ public class Not extends UnExp {
 	
 	/*************** remaining methods are visitor- and display-related ****************/
 	
+	public int kind() {
+		return NodeKind.NOT;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitNot(this);
 	}
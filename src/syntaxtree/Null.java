@@ -19,6 +19,10 @@ public class Null extends Exp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.NULL_LITERAL;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitNull(this);
 	}
@@ -37,6 +37,10 @@ public class NullType extends Type {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.NULL_TYPE;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitNullType(this);
 	}
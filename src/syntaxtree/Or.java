@@ -18,6 +18,10 @@ public class Or extends BinExp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.OR;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitOr(this);
 	}
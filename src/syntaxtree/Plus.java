@@ -18,6 +18,10 @@ public class Plus extends BinExp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.PLUS;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitPlus(this);
 	}
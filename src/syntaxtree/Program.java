@@ -31,6 +31,10 @@ public class Program extends AstNode {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 	
+	public int kind() {
+		return NodeKind.PROGRAM;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitProgram(this);
 	}
@@ -42,6 +46,10 @@ public class Program extends AstNode {
 		}
 		throw new TreeDrawException();
 	}
+
+	public int childCount() {
+		return 2;
+	}
 	
 	/*************** remaining methods are for pretty-print ****************/
 	public void prettyPrint(PrettyPrinter pp, PrintStream ps) {
@@ -18,6 +18,10 @@ public class Remainder extends BinExp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.REMAINDER;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitRemainder(this);
 	}
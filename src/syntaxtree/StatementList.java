@@ -17,6 +17,10 @@ public class StatementList extends AstList<Statement> {
 		super(lst);
 	}
 	
+	public int kind() {
+		return NodeKind.STATEMENT_LIST;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitStatementList(this);
 	}
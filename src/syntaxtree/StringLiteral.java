@@ -28,6 +28,10 @@ public class StringLiteral extends Exp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.STRING_LITERAL;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitStringLiteral(this);
 	}
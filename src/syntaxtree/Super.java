@@ -19,6 +19,10 @@ public class Super extends Exp {
 	
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.SUPER;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitSuper(this);
 	}
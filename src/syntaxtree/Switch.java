@@ -28,6 +28,10 @@ public class Switch extends BreakTarget {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 	
+	public int kind() {
+		return NodeKind.SWITCH;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitSwitch(this);
 	}
@@ -39,6 +43,10 @@ public class Switch extends BreakTarget {
 		}
 		throw new TreeDrawException();
 	}
+
+	public int childCount() {
+		return 2;
+	}
 	
 	/*************** remaining methods are for pretty-print ****************/
 	public void prettyPrint(PrettyPrinter pp, PrintStream ps) {
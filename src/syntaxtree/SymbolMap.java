@@ -0,0 +1,119 @@
+package syntaxtree;
+
+/**
+ * a map keyed by name symbol (see NameTable), for the per-class tables of
+ * instance variables and methods. A class has few members, while a
+ * compilation may have many names, so rather than an array indexed by
+ * symbol, the map is a small open-addressing table. Symbols are dense
+ * small integers, so a symbol is its own hash code, and a lookup compares
+ * ints where a map keyed by String would compare names.
+ */
+public final class SymbolMap<V> {
+
+	private int[] keys; // -1 for an empty slot
+	private Object[] vals;
+	private int count;
+
+	/**
+	 * constructor -- creates an empty map
+	 */
+	public SymbolMap() {
+		keys = newKeys(8);
+		vals = new Object[8];
+	}
+
+	/**
+	 * constructor -- creates a map with the same entries as another
+	 * @param other the map to copy
+	 */
+	public SymbolMap(SymbolMap<? extends V> other) {
+		keys = other.keys.clone();
+		vals = other.vals.clone();
+		count = other.count;
+	}
+
+	/**
+	 * @param sym a symbol
+	 * @return the value for the symbol, or null if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(int sym) {
+		int mask = keys.length - 1;
+		for (int i = sym & mask; keys[i] >= 0; i = (i + 1) & mask) {
+			if (keys[i] == sym) return (V)vals[i];
+		}
+		return null;
+	}
+
+	public boolean containsKey(int sym) {
+		return get(sym) != null;
+	}
+
+	/**
+	 * sets the value for a symbol, replacing any value it had
+	 * @param sym the symbol (not -1)
+	 * @param val the value (not null)
+	 */
+	public void put(int sym, V val) {
+		int mask = keys.length - 1;
+		int i = sym & mask;
+		while (keys[i] >= 0) {
+			if (keys[i] == sym) {
+				vals[i] = val;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = sym;
+		vals[i] = val;
+		if (2*(++count) > keys.length) {
+			rehash();
+		}
+	}
+
+	/**
+	 * adds the entries of another map, replacing the values of symbols that
+	 * are in both
+	 * @param other the other map
+	 */
+	@SuppressWarnings("unchecked")
+	public void putAll(SymbolMap<? extends V> other) {
+		for (int i = 0; i < other.keys.length; i++) {
+			if (other.keys[i] >= 0) {
+				put(other.keys[i], (V)other.vals[i]);
+			}
+		}
+	}
+
+	public int size() {
+		return count;
+	}
+
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	private void rehash() {
+		int[] oldKeys = keys;
+		Object[] oldVals = vals;
+		keys = newKeys(2*oldKeys.length);
+		vals = new Object[2*oldKeys.length];
+		int mask = keys.length - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldKeys[j] >= 0) {
+				int i = oldKeys[j] & mask;
+				while (keys[i] >= 0) {
+					i = (i + 1) & mask;
+				}
+				keys[i] = oldKeys[j];
+				vals[i] = oldVals[j];
+			}
+		}
+	}
+
+	private static int[] newKeys(int length) {
+		int[] rtnVal = new int[length];
+		java.util.Arrays.fill(rtnVal, -1);
+		return rtnVal;
+	}
+}
@@ -19,6 +19,10 @@ public class This extends Exp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.THIS;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitThis(this);
 	}
@@ -18,6 +18,10 @@ public class Times extends BinExp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+  public int kind() {
+    return NodeKind.TIMES;
+  }
+
   public Object accept(Visitor v) {
 	    return v.visitTimes(this);
 	  }
@@ -19,6 +19,10 @@ public class True extends Exp {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.TRUE;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitTrue(this);
 	}
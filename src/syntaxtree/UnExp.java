@@ -34,4 +34,8 @@ public abstract class UnExp extends Exp {
 		}
 		throw new TreeDrawException();
 	}
+
+	public int childCount() {
+		return 1;
+	}
 }
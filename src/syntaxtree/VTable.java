@@ -0,0 +1,134 @@
+package syntaxtree;
+
+import java.util.Arrays;
+
+/**
+ * a class's v-table: for each slot, the method that a call through that
+ * slot runs on an object of the class. A method's slot is its
+ * vtableOffset, and an overriding method has the slot of the method it
+ * overrides, so a call is dispatched by looking up the called method's
+ * slot in the v-table of the object's class.
+ *
+ * The slots are kept in chunks of eight. A subclass's table starts out as
+ * its superclass's, and only the chunks in which the subclass overrides or
+ * adds a method are copied; the others are shared. A class that declares
+ * no methods shares its superclass's whole table. A lookup is still two
+ * array accesses.
+ */
+public final class VTable {
+
+	private static final int CHUNK_BITS = 3;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+	// the table of a class without methods (i.e., with no superclass)
+	public static final VTable EMPTY = new VTable(new MethodDecl[0][], 0);
+
+	private final MethodDecl[][] chunks;
+	private final int size; // number of slots
+
+	private VTable(MethodDecl[][] chunks, int size) {
+		this.chunks = chunks;
+		this.size = size;
+	}
+
+	/**
+	 * @return the number of slots
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param slot a slot number, between 0 and size()-1
+	 * @return the method in that slot
+	 */
+	public MethodDecl get(int slot) {
+		return chunks[slot >>> CHUNK_BITS][slot & (CHUNK_SIZE-1)];
+	}
+
+	/**
+	 * @param other another table (e.g., the superclass's)
+	 * @return the number of chunks of slots that this table shares with
+	 *  the other
+	 */
+	public int sharedChunks(VTable other) {
+		int rtnVal = 0;
+		int n = Math.min(chunks.length, other.chunks.length);
+		for (int i = 0; i < n; i++) {
+			if (chunks[i] == other.chunks[i]) rtnVal++;
+		}
+		return rtnVal;
+	}
+
+	/**
+	 * @return a builder for a subclass's table, which starts out with this
+	 *  table's slots
+	 */
+	public Builder extend() {
+		return new Builder(this);
+	}
+
+	/**
+	 * builds a table from its superclass's by overriding and appending
+	 * slots. The superclass's table is not changed.
+	 */
+	public static final class Builder {
+		private final VTable base; // the table being extended
+		private MethodDecl[][] chunks;
+		private int size;
+
+		private Builder(VTable base) {
+			this.base = base;
+			this.chunks = base.chunks;
+			this.size = base.size;
+		}
+
+		/**
+		 * puts a method in an existing slot (i.e., overrides a method)
+		 * @param slot the slot
+		 * @param m the method
+		 */
+		public void set(int slot, MethodDecl m) {
+			ownChunk(slot >>> CHUNK_BITS)[slot & (CHUNK_SIZE-1)] = m;
+		}
+
+		/**
+		 * puts a method in a new slot at the end of the table
+		 * @param m the method
+		 * @return the method's slot
+		 */
+		public int append(MethodDecl m) {
+			int slot = size++;
+			int idx = slot >>> CHUNK_BITS;
+			if (idx == chunks.length) {
+				chunks = Arrays.copyOf(chunks, idx+1);
+				chunks[idx] = new MethodDecl[CHUNK_SIZE];
+			}
+			ownChunk(idx)[slot & (CHUNK_SIZE-1)] = m;
+			return slot;
+		}
+
+		/**
+		 * @return the table; if no slot was set or appended, this is the
+		 *  table that was extended
+		 */
+		public VTable build() {
+			if (chunks == base.chunks) {
+				return base;
+			}
+			return new VTable(chunks, size);
+		}
+
+		// the chunk with the given index, copied first if it is still
+		// shared with the base table
+		private MethodDecl[] ownChunk(int idx) {
+			if (chunks == base.chunks) {
+				chunks = chunks.clone();
+			}
+			if (idx < base.chunks.length && chunks[idx] == base.chunks[idx]) {
+				chunks[idx] = chunks[idx].clone();
+			}
+			return chunks[idx];
+		}
+	}
+}
@@ -39,6 +39,10 @@ public abstract class VarDecl extends Decl {
 		throw new TreeDrawException();
 	}
 
+	public int childCount() {
+		return 1;
+	}
+
 	protected String[]stringsInDescr() {
 		if (offset == Integer.MIN_VALUE) {
 			return super.stringsInDescr();
@@ -17,6 +17,10 @@ public class VarDeclList extends AstList<VarDecl> {
 		super(lst);
 	}
 	
+	public int kind() {
+		return NodeKind.VAR_DECL_LIST;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitVarDeclList(this);
 	}
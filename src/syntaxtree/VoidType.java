@@ -37,6 +37,10 @@ public class VoidType extends Type {
 	
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.VOID_TYPE;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitVoidType(this);
 	}
@@ -28,6 +28,10 @@ public class While extends BreakTarget {
 
 	/*************** remaining methods are visitor- and display-related ****************/
 
+	public int kind() {
+		return NodeKind.WHILE;
+	}
+
 	public Object accept(Visitor v) {
 		return v.visitWhile(this);
 	}
@@ -40,6 +44,10 @@ public class While extends BreakTarget {
 		throw new TreeDrawException();
 	}
 
+	public int childCount() {
+		return 2;
+	}
+
 	
 	/*************** remaining methods are for pretty-print ****************/
 	public void prettyPrint(PrettyPrinter pp, PrintStream ps) {
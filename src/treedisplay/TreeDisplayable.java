@@ -4,6 +4,35 @@ public interface TreeDisplayable {
   public TreeDisplayable getDrawTreeSubobj(int n) throws TreeDrawException;
   public TreeDisplayable[] getDrawTreeLinks();
   public String shortDescription(Object obj);
+
+  /**
+   * appends the short description to a buffer
+   * @param sb the buffer
+   * @param obj as for shortDescription
+   */
+  public default void appendShortDescription(StringBuilder sb, Object obj) {
+    sb.append(shortDescription(obj));
+  }
+
   public String longDescription(Object obj);
   public boolean nodeIsList();
+
+  /**
+   * @return the number of subobjects, i.e., the n for which
+   *  getDrawTreeSubobj(n) does not throw. The default finds it by probing;
+   *  implementors should override it, since each probe past the end
+   *  creates an exception.
+   */
+  public default int childCount() {
+    int n = 0;
+    try {
+      for (;;) {
+        getDrawTreeSubobj(n);
+        n++;
+      }
+    }
+    catch (TreeDrawException x) {
+      return n;
+    }
+  }
 }
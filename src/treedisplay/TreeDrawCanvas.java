@@ -50,6 +50,11 @@ public class TreeDrawCanvas extends Canvas {
 			// TODO Auto-generated method stub
 			return false;
 		}
+
+		@Override
+		public int childCount() {
+			return 0;
+		}
 		
 	};
 
@@ -70,17 +75,19 @@ public class TreeDrawCanvas extends Canvas {
 		}
 		indent(ps, indentNum);
 		ps.println(tgt.shortDescription(auxData));
-		for (int subobjCount = 0;; subobjCount++) {
+		int numSubobjs = tgt.childCount();
+		for (int subobjCount = 0; subobjCount < numSubobjs; subobjCount++) {
+			TreeDisplayable subobj;
 			try {
-				TreeDisplayable subobj = tgt.getDrawTreeSubobj(subobjCount);
-				if (subobj != null && subobj.nodeIsList()) {
-					helpPrintToStream2(ps, subobj, indentNum + 1);
-				} else {
-					helpPrintToStream(ps, subobj, indentNum + 1);
-				}
+				subobj = tgt.getDrawTreeSubobj(subobjCount);
 			} catch (TreeDrawException x) {
 				break;
 			}
+			if (subobj != null && subobj.nodeIsList()) {
+				helpPrintToStream2(ps, subobj, indentNum + 1);
+			} else {
+				helpPrintToStream(ps, subobj, indentNum + 1);
+			}
 		}
 	}
 
@@ -90,17 +97,19 @@ public class TreeDrawCanvas extends Canvas {
 			return;
 		indent(ps, indentNum);
 		ps.println("*====list====*");
-		for (int subobjCount = 0;; subobjCount++) {
+		int numSubobjs = tgt.childCount();
+		for (int subobjCount = 0; subobjCount < numSubobjs; subobjCount++) {
+			TreeDisplayable subobj;
 			try {
-				TreeDisplayable subobj = tgt.getDrawTreeSubobj(subobjCount);
-				if (subobj != null && subobj.nodeIsList()) {
-					helpPrintToStream2(ps, subobj, indentNum + 1);
-				} else {
-					helpPrintToStream(ps, subobj, indentNum + 1);
-				}
+				subobj = tgt.getDrawTreeSubobj(subobjCount);
 			} catch (TreeDrawException x) {
 				break;
 			}
+			if (subobj != null && subobj.nodeIsList()) {
+				helpPrintToStream2(ps, subobj, indentNum + 1);
+			} else {
+				helpPrintToStream(ps, subobj, indentNum + 1);
+			}
 		}
 	}
 
@@ -220,17 +229,19 @@ public class TreeDrawCanvas extends Canvas {
 		if (tgt == null) {
 			return;
 		}
-		for (int subobjCount = 0;; subobjCount++) {
+		int numSubobjs = tgt.childCount();
+		for (int subobjCount = 0; subobjCount < numSubobjs; subobjCount++) {
+			TreeDisplayable subobj;
 			try {
-				TreeDisplayable subobj = tgt.getDrawTreeSubobj(subobjCount);
-				if (subobj != null && subobj.nodeIsList()) {
-					createHelperStruct2(subobj, helpers, indent + 1, auxDat);
-				} else {
-					createHelperStruct(subobj, helpers, indent + 1, auxDat);
-				}
+				subobj = tgt.getDrawTreeSubobj(subobjCount);
 			} catch (TreeDrawException x) {
 				break;
 			}
+			if (subobj != null && subobj.nodeIsList()) {
+				createHelperStruct2(subobj, helpers, indent + 1, auxDat);
+			} else {
+				createHelperStruct(subobj, helpers, indent + 1, auxDat);
+			}
 		}
 	}
 
@@ -242,17 +253,19 @@ public class TreeDrawCanvas extends Canvas {
 		helpers.addElement(helper);
 		if (tgt == null)
 			return;
-		for (int subobjCount = 0;; subobjCount++) {
+		int numSubobjs = tgt.childCount();
+		for (int subobjCount = 0; subobjCount < numSubobjs; subobjCount++) {
+			TreeDisplayable subobj;
 			try {
-				TreeDisplayable subobj = tgt.getDrawTreeSubobj(subobjCount);
-				if (subobj != null && subobj.nodeIsList()) {
-					createHelperStruct2(subobj, helpers, indent + 1, auxData);
-				} else {
-					createHelperStruct(subobj, helpers, indent + 1, auxData);
-				}
+				subobj = tgt.getDrawTreeSubobj(subobjCount);
 			} catch (TreeDrawException x) {
 				break;
 			}
+			if (subobj != null && subobj.nodeIsList()) {
+				createHelperStruct2(subobj, helpers, indent + 1, auxData);
+			} else {
+				createHelperStruct(subobj, helpers, indent + 1, auxData);
+			}
 		}
 	}
 
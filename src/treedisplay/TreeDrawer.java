@@ -13,60 +13,14 @@ public class TreeDrawer {
 	private TDHelper linkObject;
 
 	public void printToStream(PrintStream ps) {
-		helpPrintToStream(ps, target, 0);
-	}
-
-	private static void indent(PrintStream ps, int n) {
-		for (int i = 0; i < n; i++)
-			ps.print(" ");
-	}
-
-	private void helpPrintToStream(PrintStream ps, TreeDisplayable tgt,
-			int indentNum) {
-		if (tgt == null) {
-			/***new***/ indent(ps, indentNum); ps.println("****NULL****");
-			return;
-		}
-		indent(ps, indentNum);
-		ps.println(tgt.shortDescription(auxData));
-		for (int subobjCount = 0;; subobjCount++) {
-			try {
-				TreeDisplayable subobj = tgt.getDrawTreeSubobj(subobjCount);
-				if (subobj != null && subobj.nodeIsList()) {
-					helpPrintToStream2(ps, subobj, indentNum + 1);
-				} else {
-					helpPrintToStream(ps, subobj, indentNum + 1);
-				}
-			} catch (TreeDrawException x) {
-				break;
-			}
+		try {
+			new TreeDumpWriter(ps, auxData).dump(target);
 		}
-	}
-
-	private void helpPrintToStream2(PrintStream ps, TreeDisplayable tgt,
-			int indentNum) {
-		if (tgt == null) {
-			/***new***/ indent(ps, indentNum); ps.println("****NULL****");
-			return;
-		}
-		indent(ps, indentNum);
-		ps.println("*====list====*");
-		for (int subobjCount = 0;; subobjCount++) {
-			try {
-				TreeDisplayable subobj = tgt.getDrawTreeSubobj(subobjCount);
-				if (subobj != null && subobj.nodeIsList()) {
-					helpPrintToStream2(ps, subobj, indentNum + 1);
-				} else {
-					helpPrintToStream(ps, subobj, indentNum + 1);
-				}
-			} catch (TreeDrawException x) {
-				break;
-			}
+		catch (IOException x) {
+			// a PrintStream does not throw; it sets its error flag instead
 		}
 	}
 
-
-
 	public TreeDrawer(TreeDisplayable theTarget, Object auxDat) {
 		target = theTarget;
 		auxData = auxDat;
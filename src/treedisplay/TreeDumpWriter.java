@@ -0,0 +1,122 @@
+package treedisplay;
+
+import java.io.*;
+
+/**
+ * writes a tree as indented text, one line per object: its short
+ * description, "*====list====*" for a list, or "****NULL****" for a
+ * missing subobject, indented one space per level. This is the text
+ * format of TreeDrawer.printToStream.
+ *
+ * The tree is walked with an explicit stack of (object, next child)
+ * frames, so memory use is proportional to the depth of the tree, not
+ * its size, and deep trees do not overflow the Java stack. Output goes
+ * through one buffered Writer; each line is built in a reused
+ * StringBuilder, and indentation is copied from a buffer of spaces.
+ */
+public class TreeDumpWriter {
+
+	private static final String LIST_LINE = "*====list====*";
+	private static final String NULL_LINE = "****NULL****";
+
+	private final Writer out;
+	private final Object auxData; // passed to appendShortDescription
+	private final String newline = System.lineSeparator();
+	private final StringBuilder line = new StringBuilder(128);
+	private char[] lineChars = new char[128]; // line's characters, for writing
+	private char[] spaces = new char[0]; // at least as many as the deepest indent
+
+	// the stack: objects whose children are being written, and the
+	// number of the next child of each to write
+	private TreeDisplayable[] parents = new TreeDisplayable[64];
+	private int[] nextChild = new int[64];
+	private int[] numChildren = new int[64];
+	private int sp;
+
+	/**
+	 * constructor
+	 * @param out the stream to write to; it is flushed, not closed, by dump
+	 * @param auxData passed to each object's appendShortDescription
+	 */
+	public TreeDumpWriter(OutputStream out, Object auxData) {
+		this.out = new BufferedWriter(new OutputStreamWriter(out), 1 << 16);
+		this.auxData = auxData;
+	}
+
+	/**
+	 * writes a tree
+	 * @param root the tree's root
+	 * @throws IOException if the output cannot be written
+	 */
+	public void dump(TreeDisplayable root) throws IOException {
+		writeLine(root, 0, false);
+		push(root);
+		while (sp > 0) {
+			int top = sp - 1;
+			if (nextChild[top] >= numChildren[top]) {
+				parents[--sp] = null;
+				continue;
+			}
+			TreeDisplayable child;
+			try {
+				child = parents[top].getDrawTreeSubobj(nextChild[top]++);
+			}
+			catch (TreeDrawException x) {
+				parents[--sp] = null;
+				continue;
+			}
+			writeLine(child, sp, child != null && child.nodeIsList());
+			push(child);
+		}
+		out.flush();
+	}
+
+	// starts writing an object's children, if it has any
+	private void push(TreeDisplayable t) {
+		if (t == null) return;
+		int count = t.childCount();
+		if (count == 0) return;
+		if (sp == parents.length) {
+			TreeDisplayable[] newParents = new TreeDisplayable[2*sp];
+			System.arraycopy(parents, 0, newParents, 0, sp);
+			parents = newParents;
+			nextChild = grow(nextChild);
+			numChildren = grow(numChildren);
+		}
+		parents[sp] = t;
+		nextChild[sp] = 0;
+		numChildren[sp] = count;
+		sp++;
+	}
+
+	private void writeLine(TreeDisplayable t, int indent, boolean isList) throws IOException {
+		if (indent > spaces.length) {
+			spaces = new char[Math.max(indent, 2*spaces.length)];
+			java.util.Arrays.fill(spaces, ' ');
+		}
+		out.write(spaces, 0, indent);
+		line.setLength(0);
+		if (t == null) {
+			line.append(NULL_LINE);
+		}
+		else if (isList) {
+			line.append(LIST_LINE);
+		}
+		else {
+			t.appendShortDescription(line, auxData);
+		}
+		line.append(newline);
+		int len = line.length();
+		if (len > lineChars.length) {
+			lineChars = new char[Math.max(len, 2*lineChars.length)];
+		}
+		line.getChars(0, len, lineChars, 0);
+		out.write(lineChars, 0, len);
+	}
+
+	private static int[] grow(int[] arr) {
+		int[] rtnVal = new int[2*arr.length];
+		System.arraycopy(arr, 0, rtnVal, 0, arr.length);
+		return rtnVal;
+	}
+}
@@ -0,0 +1,132 @@
+package visitor;
+
+import syntaxtree.*;
+import java.util.*;
+
+/**
+ * a numbering of the classes of a compilation that answers "is A a
+ * subclass of B" in constant time. The class tree is walked depth-first
+ * from Object, and each class gets its preorder number, plus the largest
+ * number in its subtree; since a class's subtree is numbered contiguously,
+ * A is a subclass of B exactly when A's number lies in B's range.
+ *
+ * The numbering is built from the subclass lists filled in by phase 2
+ * (see GlobalSymTab.subclassesOf), so it must not be built before that
+ * phase is done. The numbers are kept in attributes indexed by node ID,
+ * rather than in the ClassDecls, because the predefined classes are
+ * shared by all compilations.
+ */
+public class ClassHierarchy {
+
+	private final IntNodeAttribute number; // preorder number; -1 if not in the tree
+	private final IntNodeAttribute last; // largest number in the class's subtree
+	private final ClassDecl[] byNumber; // the classes, in preorder
+
+	/**
+	 * constructor -- numbers the classes reachable from Object
+	 * @param globalSymTab the compilation's class table
+	 */
+	public ClassHierarchy(GlobalSymTab globalSymTab) {
+		ClassDecl root = globalSymTab.get("Object");
+		number = new IntNodeAttribute(AstContext.current(), -1);
+		last = new IntNodeAttribute(AstContext.current(), -1);
+		ArrayList<ClassDecl> order = new ArrayList<ClassDecl>(globalSymTab.size());
+
+		// an explicit stack, so that a deep hierarchy does not overflow the
+		// Java stack: the classes on the current path, and for each, the
+		// index of the next subclass to visit
+		ClassDecl[] path = new ClassDecl[16];
+		int[] next = new int[16];
+		int depth = 0;
+		if (root != null) {
+			number.set(root, 0);
+			order.add(root);
+			path[depth++] = root;
+		}
+		while (depth > 0) {
+			ClassDecl top = path[depth-1];
+			ClassDeclList subs = globalSymTab.subclassesOf(top);
+			int i = next[depth-1];
+			if (i < subs.size()) {
+				next[depth-1] = i+1;
+				ClassDecl sub = subs.get(i);
+				number.set(sub, order.size());
+				order.add(sub);
+				if (depth == path.length) {
+					path = Arrays.copyOf(path, 2*depth);
+					next = Arrays.copyOf(next, 2*depth);
+				}
+				path[depth] = sub;
+				next[depth] = 0;
+				depth++;
+			}
+			else {
+				last.set(top, order.size()-1);
+				path[--depth] = null;
+			}
+		}
+		byNumber = order.toArray(new ClassDecl[order.size()]);
+	}
+
+	/**
+	 * @return the number of classes in the hierarchy
+	 */
+	public int size() {
+		return byNumber.length;
+	}
+
+	/**
+	 * @param decl a class
+	 * @return the class's preorder number, or -1 if it is not in the
+	 *  hierarchy
+	 */
+	public int number(ClassDecl decl) {
+		return number.get(decl);
+	}
+
+	/**
+	 * @param decl a class
+	 * @return the largest number of the class and its subclasses; the
+	 *  class's subclasses are the classes numbered above number(decl), up
+	 *  to and including this one
+	 */
+	public int lastNumber(ClassDecl decl) {
+		return last.get(decl);
+	}
+
+	/**
+	 * @param num a class number
+	 * @return the class with that number
+	 */
+	public ClassDecl classAt(int num) {
+		return byNumber[num];
+	}
+
+	/**
+	 * @return the classes in preorder, so that each class comes after its
+	 *  superclass
+	 */
+	public List<ClassDecl> classes() {
+		return Collections.unmodifiableList(Arrays.asList(byNumber));
+	}
+
+	/**
+	 * tells whether one class is the same as, or a (direct or indirect)
+	 * subclass of, another
+	 * @param sub the possible subclass
+	 * @param sup the possible superclass
+	 * @return whether sub is sup or one of its subclasses
+	 */
+	public boolean isSubclass(ClassDecl sub, ClassDecl sup) {
+		int n = number.get(sub);
+		int lo = number.get(sup);
+		if (n < 0 || lo < 0) {
+			// not reachable from Object (only after errors in phase 2)
+			for (ClassDecl c = sub; c != null; c = c.superLink) {
+				if (c == sup) return true;
+			}
+			return false;
+		}
+		return lo <= n && n <= last.get(sup);
+	}
+}
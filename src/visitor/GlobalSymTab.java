@@ -0,0 +1,138 @@
+package visitor;
+
+import syntaxtree.*;
+import java.util.*;
+
+/**
+ * the global symbol table, which maps each class name to its ClassDecl.
+ * Classes are keyed by their name's symbol (see syntaxtree.NameTable);
+ * the predefined classes' names are the first ones in every compilation's
+ * table, so their symbols are the same in all compilations.
+ * The predefined classes live in a shared parent table that is never
+ * modified; a compilation's own classes are entered in a table layered on
+ * top of it. Setting up a compilation therefore copies nothing, and
+ * compilations that run at the same time do not interfere.
+ */
+public class GlobalSymTab {
+
+	private final GlobalSymTab parent; // the shared layer; null if none
+	private final SymbolMap<ClassDecl> classes;
+	private final NameTable names; // the names whose symbols key this table
+
+	// subclass lists for the parent's classes, including the subclasses
+	// declared in this layer; a parent's ClassDecls are not modified
+	private IdentityHashMap<ClassDecl,ClassDeclList> parentSubclasses;
+
+	private ClassHierarchy hierarchy; // built on demand; null if not current
+
+	/**
+	 * constructor -- must be called in the context of the compilation whose
+	 * names key the table
+	 * @param parent the shared table underneath this one, or null
+	 */
+	public GlobalSymTab(GlobalSymTab parent) {
+		this.parent = parent;
+		this.classes = new SymbolMap<ClassDecl>();
+		this.names = AstContext.current().names();
+	}
+
+	/**
+	 * @param sym a class name's symbol
+	 * @return the class's declaration, or null if there is none
+	 */
+	public ClassDecl get(int sym) {
+		ClassDecl rtnVal = classes.get(sym);
+		if (rtnVal == null && parent != null) {
+			rtnVal = parent.get(sym);
+		}
+		return rtnVal;
+	}
+
+	/**
+	 * looks a class up by name, for the few places that name a class
+	 * rather than take the name from a node
+	 * @param name a class name
+	 * @return the class's declaration, or null if there is none
+	 */
+	public ClassDecl get(String name) {
+		int sym = names.lookup(name);
+		return sym < 0 ? null : get(sym);
+	}
+
+	public boolean containsKey(int sym) {
+		return get(sym) != null;
+	}
+
+	/**
+	 * enters a class in this layer
+	 * @param sym the class name's symbol
+	 * @param decl the class declaration
+	 */
+	public void put(int sym, ClassDecl decl) {
+		hierarchy = null;
+		classes.put(sym, decl);
+	}
+
+	/**
+	 * @return the number of classes, including those in the shared layer
+	 */
+	public int size() {
+		return classes.size() + (parent == null ? 0 : parent.size());
+	}
+
+	/**
+	 * @param decl a class declaration
+	 * @return whether the class belongs to the shared layer
+	 */
+	public boolean isShared(ClassDecl decl) {
+		return parent != null && parent.get(decl.nameSym) == decl;
+	}
+
+	/**
+	 * records that one class is a direct subclass of another
+	 * @param sup the superclass
+	 * @param sub the subclass
+	 */
+	public void addSubclass(ClassDecl sup, ClassDecl sub) {
+		hierarchy = null;
+		if (isShared(sup)) {
+			if (parentSubclasses == null) {
+				parentSubclasses = new IdentityHashMap<ClassDecl,ClassDeclList>();
+			}
+			ClassDeclList lst = parentSubclasses.get(sup);
+			if (lst == null) {
+				lst = new ClassDeclList(sup.subclasses);
+				parentSubclasses.put(sup, lst);
+			}
+			lst.addElement(sub);
+		}
+		else {
+			sup.subclasses.addElement(sub);
+		}
+	}
+
+	/**
+	 * @param decl a class declaration
+	 * @return the class's direct subclasses, as seen by this compilation
+	 */
+	public ClassDeclList subclassesOf(ClassDecl decl) {
+		if (parentSubclasses != null) {
+			ClassDeclList lst = parentSubclasses.get(decl);
+			if (lst != null) return lst;
+		}
+		return decl.subclasses;
+	}
+
+	/**
+	 * @return the numbering of this table's classes that gives
+	 *  constant-time subclass tests; it is built on the first call after
+	 *  the classes or their subclass lists last changed, and so should
+	 *  only be asked for once phase 2 is done
+	 */
+	public ClassHierarchy hierarchy() {
+		if (hierarchy == null) {
+			hierarchy = new ClassHierarchy(this);
+		}
+		return hierarchy;
+	}
+}
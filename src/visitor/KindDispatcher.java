@@ -0,0 +1,301 @@
+package visitor;
+
+import syntaxtree.*;
+
+/**
+ * a base for analysis passes that dispatches on a node's kind() with a
+ * single switch, rather than through accept and the chain of visit
+ * methods in InhVisitor (visitPlus -> visitBinExp -> visitExp -> ...).
+ * There is one visit method per concrete node class; each defaults to
+ * visitNode, so a pass overrides only the kinds it cares about. The
+ * dispatcher does not traverse: a visit method calls dispatch on the
+ * children it wants to visit, or the pass runs under a TreeWalker. It
+ * suits a pass that looks at only part of the tree, such as the
+ * interpreter's FrameLayout, which goes through statements but never
+ * into expressions.
+ */
+public abstract class KindDispatcher {
+
+	/**
+	 * calls the visit method for the node's class
+	 * @param n the node
+	 * @return what the visit method returns
+	 */
+	public Object dispatch(AstNode n) {
+		switch (n.kind()) {
+		case NodeKind.PROGRAM: return visitProgram((Program)n);
+		case NodeKind.CLASS_DECL: return visitClassDecl((ClassDecl)n);
+		case NodeKind.METHOD_DECL_VOID: return visitMethodDeclVoid((MethodDeclVoid)n);
+		case NodeKind.METHOD_DECL_NON_VOID: return visitMethodDeclNonVoid((MethodDeclNonVoid)n);
+		case NodeKind.INST_VAR_DECL: return visitInstVarDecl((InstVarDecl)n);
+		case NodeKind.FORMAL_DECL: return visitFormalDecl((FormalDecl)n);
+		case NodeKind.LOCAL_VAR_DECL: return visitLocalVarDecl((LocalVarDecl)n);
+		case NodeKind.INTEGER_TYPE: return visitIntegerType((IntegerType)n);
+		case NodeKind.BOOLEAN_TYPE: return visitBooleanType((BooleanType)n);
+		case NodeKind.VOID_TYPE: return visitVoidType((VoidType)n);
+		case NodeKind.NULL_TYPE: return visitNullType((NullType)n);
+		case NodeKind.IDENTIFIER_TYPE: return visitIdentifierType((IdentifierType)n);
+		case NodeKind.ARRAY_TYPE: return visitArrayType((ArrayType)n);
+		case NodeKind.BLOCK: return visitBlock((Block)n);
+		case NodeKind.IF: return visitIf((If)n);
+		case NodeKind.WHILE: return visitWhile((While)n);
+		case NodeKind.SWITCH: return visitSwitch((Switch)n);
+		case NodeKind.CASE: return visitCase((Case)n);
+		case NodeKind.DEFAULT: return visitDefault((Default)n);
+		case NodeKind.BREAK: return visitBreak((Break)n);
+		case NodeKind.ASSIGN: return visitAssign((Assign)n);
+		case NodeKind.CALL_STATEMENT: return visitCallStatement((CallStatement)n);
+		case NodeKind.LOCAL_DECL_STATEMENT: return visitLocalDeclStatement((LocalDeclStatement)n);
+		case NodeKind.AND: return visitAnd((And)n);
+		case NodeKind.OR: return visitOr((Or)n);
+		case NodeKind.EQUALS: return visitEquals((Equals)n);
+		case NodeKind.LESS_THAN: return visitLessThan((LessThan)n);
+		case NodeKind.GREATER_THAN: return visitGreaterThan((GreaterThan)n);
+		case NodeKind.PLUS: return visitPlus((Plus)n);
+		case NodeKind.MINUS: return visitMinus((Minus)n);
+		case NodeKind.TIMES: return visitTimes((Times)n);
+		case NodeKind.DIVIDE: return visitDivide((Divide)n);
+		case NodeKind.REMAINDER: return visitRemainder((Remainder)n);
+		case NodeKind.NOT: return visitNot((Not)n);
+		case NodeKind.ARRAY_LENGTH: return visitArrayLength((ArrayLength)n);
+		case NodeKind.ARRAY_LOOKUP: return visitArrayLookup((ArrayLookup)n);
+		case NodeKind.CALL: return visitCall((Call)n);
+		case NodeKind.CAST: return visitCast((Cast)n);
+		case NodeKind.INSTANCE_OF: return visitInstanceOf((InstanceOf)n);
+		case NodeKind.IDENTIFIER_EXP: return visitIdentifierExp((IdentifierExp)n);
+		case NodeKind.INST_VAR_ACCESS: return visitInstVarAccess((InstVarAccess)n);
+		case NodeKind.INTEGER_LITERAL: return visitIntegerLiteral((IntegerLiteral)n);
+		case NodeKind.STRING_LITERAL: return visitStringLiteral((StringLiteral)n);
+		case NodeKind.NEW_ARRAY: return visitNewArray((NewArray)n);
+		case NodeKind.NEW_OBJECT: return visitNewObject((NewObject)n);
+		case NodeKind.NULL_LITERAL: return visitNull((Null)n);
+		case NodeKind.TRUE: return visitTrue((True)n);
+		case NodeKind.FALSE: return visitFalse((False)n);
+		case NodeKind.THIS: return visitThis((This)n);
+		case NodeKind.SUPER: return visitSuper((Super)n);
+		default: return visitNode(n);
+		}
+	}
+
+	/**
+	 * calls dispatch on each element of a list
+	 * @param lst the list
+	 */
+	public void dispatchAll(AstList<? extends AstNode> lst) {
+		for (int i = 0; i < lst.size(); i++) {
+			AstNode n = lst.get(i);
+			if (n != null) {
+				dispatch(n);
+			}
+		}
+	}
+
+	/**
+	 * the default for every visit method
+	 * @param n the node
+	 * @return null, unless overridden
+	 */
+	protected Object visitNode(AstNode n) {
+		return null;
+	}
+
+	protected Object visitProgram(Program n) {
+		return visitNode(n);
+	}
+
+	protected Object visitClassDecl(ClassDecl n) {
+		return visitNode(n);
+	}
+
+	protected Object visitMethodDeclVoid(MethodDeclVoid n) {
+		return visitNode(n);
+	}
+
+	protected Object visitMethodDeclNonVoid(MethodDeclNonVoid n) {
+		return visitNode(n);
+	}
+
+	protected Object visitInstVarDecl(InstVarDecl n) {
+		return visitNode(n);
+	}
+
+	protected Object visitFormalDecl(FormalDecl n) {
+		return visitNode(n);
+	}
+
+	protected Object visitLocalVarDecl(LocalVarDecl n) {
+		return visitNode(n);
+	}
+
+	protected Object visitIntegerType(IntegerType n) {
+		return visitNode(n);
+	}
+
+	protected Object visitBooleanType(BooleanType n) {
+		return visitNode(n);
+	}
+
+	protected Object visitVoidType(VoidType n) {
+		return visitNode(n);
+	}
+
+	protected Object visitNullType(NullType n) {
+		return visitNode(n);
+	}
+
+	protected Object visitIdentifierType(IdentifierType n) {
+		return visitNode(n);
+	}
+
+	protected Object visitArrayType(ArrayType n) {
+		return visitNode(n);
+	}
+
+	protected Object visitBlock(Block n) {
+		return visitNode(n);
+	}
+
+	protected Object visitIf(If n) {
+		return visitNode(n);
+	}
+
+	protected Object visitWhile(While n) {
+		return visitNode(n);
+	}
+
+	protected Object visitSwitch(Switch n) {
+		return visitNode(n);
+	}
+
+	protected Object visitCase(Case n) {
+		return visitNode(n);
+	}
+
+	protected Object visitDefault(Default n) {
+		return visitNode(n);
+	}
+
+	protected Object visitBreak(Break n) {
+		return visitNode(n);
+	}
+
+	protected Object visitAssign(Assign n) {
+		return visitNode(n);
+	}
+
+	protected Object visitCallStatement(CallStatement n) {
+		return visitNode(n);
+	}
+
+	protected Object visitLocalDeclStatement(LocalDeclStatement n) {
+		return visitNode(n);
+	}
+
+	protected Object visitAnd(And n) {
+		return visitNode(n);
+	}
+
+	protected Object visitOr(Or n) {
+		return visitNode(n);
+	}
+
+	protected Object visitEquals(Equals n) {
+		return visitNode(n);
+	}
+
+	protected Object visitLessThan(LessThan n) {
+		return visitNode(n);
+	}
+
+	protected Object visitGreaterThan(GreaterThan n) {
+		return visitNode(n);
+	}
+
+	protected Object visitPlus(Plus n) {
+		return visitNode(n);
+	}
+
+	protected Object visitMinus(Minus n) {
+		return visitNode(n);
+	}
+
+	protected Object visitTimes(Times n) {
+		return visitNode(n);
+	}
+
+	protected Object visitDivide(Divide n) {
+		return visitNode(n);
+	}
+
+	protected Object visitRemainder(Remainder n) {
+		return visitNode(n);
+	}
+
+	protected Object visitNot(Not n) {
+		return visitNode(n);
+	}
+
+	protected Object visitArrayLength(ArrayLength n) {
+		return visitNode(n);
+	}
+
+	protected Object visitArrayLookup(ArrayLookup n) {
+		return visitNode(n);
+	}
+
+	protected Object visitCall(Call n) {
+		return visitNode(n);
+	}
+
+	protected Object visitCast(Cast n) {
+		return visitNode(n);
+	}
+
+	protected Object visitInstanceOf(InstanceOf n) {
+		return visitNode(n);
+	}
+
+	protected Object visitIdentifierExp(IdentifierExp n) {
+		return visitNode(n);
+	}
+
+	protected Object visitInstVarAccess(InstVarAccess n) {
+		return visitNode(n);
+	}
+
+	protected Object visitIntegerLiteral(IntegerLiteral n) {
+		return visitNode(n);
+	}
+
+	protected Object visitStringLiteral(StringLiteral n) {
+		return visitNode(n);
+	}
+
+	protected Object visitNewArray(NewArray n) {
+		return visitNode(n);
+	}
+
+	protected Object visitNewObject(NewObject n) {
+		return visitNode(n);
+	}
+
+	protected Object visitNull(Null n) {
+		return visitNode(n);
+	}
+
+	protected Object visitTrue(True n) {
+		return visitNode(n);
+	}
+
+	protected Object visitFalse(False n) {
+		return visitNode(n);
+	}
+
+	protected Object visitThis(This n) {
+		return visitNode(n);
+	}
+
+	protected Object visitSuper(Super n) {
+		return visitNode(n);
+	}
+}
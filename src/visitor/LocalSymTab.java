@@ -0,0 +1,101 @@
+package visitor;
+
+import syntaxtree.VarDecl;
+
+/**
+ * the symbol table for local variables and formal parameters, organized as
+ * a stack of scopes (method body, blocks). Names are looked up by their
+ * symbol (see syntaxtree.NameTable), which indexes an array that points at
+ * the innermost visible declaration of that name. Declarations are kept in
+ * parallel arrays in declaration order, and each points at the one it
+ * hides. Entering a scope records the current size; leaving it unwinds the
+ * declarations made since, so the total work is linear in the number of
+ * declarations and no per-scope or per-method tables are allocated.
+ */
+class LocalSymTab {
+
+	// innermost visible declaration of each symbol: an index into decls,
+	// or -1 if none is visible
+	private int[] heads = newHeads(64, null);
+
+	// declarations, in the order in which they are currently visible
+	private VarDecl[] decls = new VarDecl[32];
+	private int[] hidden = new int[32]; // declaration hidden by this one; -1 if none
+	private int[] symOf = new int[32]; // the symbol of this declaration's name
+	private int numDecls;
+
+	// scope marks: the value of numDecls when each open scope was entered
+	private int[] marks = new int[16];
+	private int depth;
+
+	/**
+	 * enters a new, empty scope
+	 */
+	void pushScope() {
+		if (depth == marks.length) {
+			marks = grow(marks);
+		}
+		marks[depth++] = numDecls;
+	}
+
+	/**
+	 * leaves the innermost scope, removing the declarations made in it
+	 */
+	void popScope() {
+		int mark = marks[--depth];
+		for (int i = numDecls-1; i >= mark; i--) {
+			heads[symOf[i]] = hidden[i];
+			decls[i] = null;
+		}
+		numDecls = mark;
+	}
+
+	/**
+	 * @param sym a variable name's symbol
+	 * @return the innermost visible declaration of the name, or null
+	 */
+	VarDecl lookup(int sym) {
+		if (sym >= heads.length || heads[sym] < 0) return null;
+		return decls[heads[sym]];
+	}
+
+	/**
+	 * adds a declaration to the innermost scope
+	 * @param sym the symbol of the name being declared
+	 * @param decl the declaration
+	 */
+	void declare(int sym, VarDecl decl) {
+		if (sym >= heads.length) {
+			heads = newHeads(Math.max(sym+1, 2*heads.length), heads);
+		}
+		if (numDecls == decls.length) {
+			VarDecl[] newDecls = new VarDecl[2*decls.length];
+			System.arraycopy(decls, 0, newDecls, 0, numDecls);
+			decls = newDecls;
+			hidden = grow(hidden);
+			symOf = grow(symOf);
+		}
+		decls[numDecls] = decl;
+		hidden[numDecls] = heads[sym];
+		symOf[numDecls] = sym;
+		heads[sym] = numDecls;
+		numDecls++;
+	}
+
+	// a heads array of the given length, with old's entries (if any) and
+	// nothing visible beyond them
+	private static int[] newHeads(int length, int[] old) {
+		int[] rtnVal = new int[length];
+		java.util.Arrays.fill(rtnVal, -1);
+		if (old != null) {
+			System.arraycopy(old, 0, rtnVal, 0, old.length);
+		}
+		return rtnVal;
+	}
+
+	private static int[] grow(int[] arr) {
+		int[] rtnVal = new int[2*arr.length];
+		System.arraycopy(arr, 0, rtnVal, 0, arr.length);
+		return rtnVal;
+	}
+}
@@ -0,0 +1,175 @@
+package visitor;
+
+import syntaxtree.*;
+import errorMsg.*;
+
+/**
+ * the predefined classes (Object, String, Lib, RunMain, _DataArray and
+ * _ObjectArray). They are built, and taken through semantic phases 1-3,
+ * once per JVM; every compilation then layers its own classes over the
+ * resulting table (see GlobalSymTab). Nothing may modify these classes
+ * after they have been built.
+ */
+public class PredefinedClasses {
+
+	private static AstContext context; // the context the classes were built in
+	private static TypeTable types; // the shared canonical types
+	private static final GlobalSymTab table = build();
+
+	private PredefinedClasses() {
+	}
+
+	/**
+	 * @return the (read-only) table of predefined classes
+	 */
+	public static GlobalSymTab table() {
+		return table;
+	}
+
+	/**
+	 * @return the (read-only) canonical types shared by all compilations:
+	 *  the primitive types and the predefined classes' types
+	 */
+	public static TypeTable types() {
+		table(); // make sure they have been built
+		return types;
+	}
+
+	/**
+	 * @return the context of the predefined classes' nodes; a compilation's
+	 *  context should extend it, so that its node IDs follow those of the
+	 *  predefined nodes and its names include theirs
+	 */
+	public static AstContext context() {
+		table(); // make sure they have been built
+		return context;
+	}
+
+	private static GlobalSymTab build() {
+		context = new AstContext(0);
+		AstContext outer = AstContext.enter(context);
+		try {
+			return buildClasses();
+		}
+		finally {
+			AstContext.exit(outer);
+		}
+	}
+
+	private static GlobalSymTab buildClasses() {
+		ClassDecl classObjectDecl = createClass("Object", "");
+		ClassDecl classStringDecl = createClass("String", "Object");
+		ClassDecl classLibDecl = createClass("Lib", "Object");
+		ClassDecl classRunMainDecl = createClass("RunMain", "Object");
+		ClassDecl classDataArrayDecl = createClass("_DataArray", "Object");
+		ClassDecl classObjectArrayDecl = createClass("_ObjectArray", "Object");
+		ClassDecl[] all = {classObjectDecl, classLibDecl, classStringDecl,
+				classRunMainDecl, classDataArrayDecl, classObjectArrayDecl};
+
+		addDummyMethod(classObjectDecl, "hashCode", "int", new String[]{});
+		addDummyMethod(classObjectDecl, "equals", "boolean", new String[]{"Object"});
+		addDummyMethod(classObjectDecl, "toString", "String", new String[]{});
+
+		addDummyMethod(classLibDecl, "readLine", "String", new String[]{});
+		addDummyMethod(classLibDecl, "readInt", "int", new String[]{});
+		addDummyMethod(classLibDecl, "readChar", "int", new String[]{});
+		addDummyMethod(classLibDecl, "printStr", "void", new String[]{"String"});
+		addDummyMethod(classLibDecl, "printBool", "void", new String[]{"boolean"});
+		addDummyMethod(classLibDecl, "printInt", "void", new String[]{"int"});
+		addDummyMethod(classLibDecl, "intToString", "String",
+				new String[]{"int"});
+		addDummyMethod(classLibDecl, "intToChar", "String",
+				new String[]{"int"});
+
+		addDummyMethod(classStringDecl, "hashCode", "int", new String[]{});
+		addDummyMethod(classStringDecl, "equals", "boolean", new String[]{"Object"});
+		addDummyMethod(classStringDecl, "toString", "String", new String[]{});
+		addDummyMethod(classStringDecl, "concat", "String",
+				new String[]{"String"});
+		addDummyMethod(classStringDecl, "substring", "String",
+				new String[]{"int","int"});
+		addDummyMethod(classStringDecl, "length", "int", new String[]{});
+		addDummyMethod(classStringDecl, "charAt", "int",
+				new String[]{"int"});
+		addDummyMethod(classStringDecl, "compareTo", "int",
+				new String[]{"String"});
+
+		GlobalSymTab tab = new GlobalSymTab(null);
+		ErrorMsg errorMsg = new ErrorMsg("PredefinedClasses");
+
+		// PHASE I
+		Sem1Visitor s1 = new Sem1Visitor(errorMsg, tab);
+		for (ClassDecl c : all) {
+			s1.visitClassDecl(c);
+		}
+
+		// PHASE II
+		Sem2Visitor s2 = new Sem2Visitor(tab, errorMsg);
+		for (ClassDecl c : all) {
+			s2.visitClassDecl(c);
+		}
+		s2.flattenInstVarTables(java.util.Arrays.asList(all));
+
+		// PHASE III
+		Sem3Visitor s3 = new Sem3Visitor(tab, errorMsg);
+		for (ClassDecl c : all) {
+			s3.visitClassDecl(c);
+		}
+
+		// PHASE V (phase IV has nothing to check in the dummy bodies)
+		Sem5Visitor s5 = new Sem5Visitor(tab, errorMsg);
+		for (ClassDecl c : tab.hierarchy().classes()) {
+			s5.visitClassDecl(c);
+		}
+
+		types = new TypeTable(null, null);
+		for (ClassDecl c : all) {
+			types.classType(c);
+		}
+
+		errorMsg.flush();
+		return tab;
+	}
+
+	private static ClassDecl createClass(String name, String superName) {
+		return new ClassDecl(-1, name, superName, new DeclList());
+	}
+
+	// add a method with an empty body to a class
+	private static void addDummyMethod(ClassDecl dec, String methName,
+				String rtnTypeName, String[] parmTypeNames) {
+		VarDeclList parmDecls = new VarDeclList();
+		for (int i = 0; i < parmTypeNames.length; i++) {
+			Type t = convertToType(parmTypeNames[i]);
+			String parmName = "parm"+i;
+			VarDecl vd = new FormalDecl(-1, t, parmName);
+			parmDecls.addElement(vd);
+		}
+		Type t = convertToType(rtnTypeName);
+		StatementList sl = new StatementList(); // dummied up
+		MethodDecl md;
+		if (t == null) { // void return-type
+			md = new MethodDeclVoid(-1, methName, parmDecls, sl);
+		}
+		else { // non-void return type
+			Exp rtnExpr = new Null(-1);
+			md = new MethodDeclNonVoid(-1, t, methName, parmDecls, sl, rtnExpr);
+		}
+		dec.decls.addElement(md);
+	}
+
+	private static Type convertToType(String s) {
+		if (s.equals("void")) {
+			return new VoidType(-1);
+		}
+		else if (s.equals("boolean")) {
+			return new BooleanType(-1);
+		}
+		else if (s.equals("int")) {
+			return new IntegerType(-1);
+		}
+		else {
+			return new IdentifierType(-1, s);
+		}
+	}
+}
@@ -8,21 +8,25 @@ import errorMsg.*;
 // - link each ClassDecl to the ClassDecl for its superclass (via
 //   its 'superLink'
 // - link each ClassDecl to each of its subclasses (via the
-//   'subclasses' instance variable
-// - ensure that there are no cycles in the inheritance hierarchy
+//   'subclasses' instance variable, or for a predefined superclass,
+//   via the global symbol table's subclassesOf)
+// - ensure that there are no cycles in the inheritance hierarchy,
+//   reporting each cycle once
 // - ensure that no class has 'String' or 'RunMain' as a superclass
+// - give each ClassDecl the table of all of its instance variables,
+//   inherited ones included (via 'allInstVarTable')
 public class Sem2Visitor extends ASTvisitor {
 	
-	Hashtable<String,ClassDecl> globalSymTab;
+	GlobalSymTab globalSymTab;
 	ErrorMsg errorMsg;
 	
-	public Sem2Visitor(Hashtable<String,ClassDecl> globalSymTb,
+	public Sem2Visitor(GlobalSymTab globalSymTb,
 			   ErrorMsg e) {
 		errorMsg = e;
 		initInstanceVars(globalSymTb);
 	}
 
-	private void initInstanceVars(Hashtable<String,ClassDecl> globalTab) {
+	private void initInstanceVars(GlobalSymTab globalTab) {
 		globalSymTab = globalTab;
 	}
 
@@ -40,10 +44,10 @@ public class Sem2Visitor extends ASTvisitor {
 			else if (classInstance.superName.equals("RunMain")) {
 				errorMsg.error(classInstance.pos, "Error: cannot extend " + classInstance.name + " for RunMain superclass");
 			}
+		}
 
-			if (containsClassCycle(classInstance)) {
-				errorMsg.info("Error: cycle detected for class name: " + classInstance.name);
-			}
+		if (!reportClassCycles(myProgram.classDecls)) {
+			flattenInstVarTables(myProgram.classDecls);
 		}
 
 		return null;
@@ -52,16 +56,16 @@ public class Sem2Visitor extends ASTvisitor {
 	@Override
 	public Object visitClassDecl(ClassDecl classInstance) {
 		if (classInstance.superName != null) {
-			if (globalSymTab.containsKey(classInstance.superName)) {
-				classInstance.superLink = globalSymTab.get(classInstance.superName);
-				 classInstance.superLink.subclasses.addElement(classInstance);
+			if (globalSymTab.containsKey(classInstance.superSym)) {
+				classInstance.superLink = globalSymTab.get(classInstance.superSym);
+				globalSymTab.addSubclass(classInstance.superLink, classInstance);
 			}
 			else if (classInstance.superName.equals("")) {
 				// errorMsg.warning(classInstance.pos, "Empty supername");
 
 			}
 			else {
-				errorMsg.error(classInstance.pos, "Error: undefined super class name: " + classInstance.superName);
+				errorMsg.error(classInstance.pos, "Error: undefined super class name: ", classInstance.superName);
 			}
 		}
 		else {
@@ -71,25 +75,65 @@ public class Sem2Visitor extends ASTvisitor {
 		return null;
 	}
 
-	public boolean containsClassCycle(ClassDecl current) {
-		String superClassName = current.superName;
-
-		if (current == null) {
-			// traversed to end of list so no cycles
-			return false;
-		}
-
-		if (superClassName.equals(current.name)) {
-			errorMsg.error(current.pos, "Superclass name matches name of current class: " + current.name);
-			return true;
+	// build each class's allInstVarTable, superclasses before subclasses, so
+	// that each table is built once from its (finished) superclass table. A
+	// class that declares no instance variables shares its superclass's table.
+	// The hierarchy must be free of cycles.
+	void flattenInstVarTables(List<ClassDecl> classes) {
+		ArrayList<ClassDecl> chain = new ArrayList<ClassDecl>();
+		for (ClassDecl c : classes) {
+			// collect c and those of its ancestors that still need a table
+			chain.clear();
+			for (ClassDecl p = c; p != null && p.allInstVarTable == null; p = p.superLink) {
+				chain.add(p);
+			}
+			for (int i = chain.size()-1; i >= 0; i--) {
+				ClassDecl k = chain.get(i);
+				SymbolMap<InstVarDecl> inherited =
+					k.superLink == null ? null : k.superLink.allInstVarTable;
+				if (inherited != null && k.instVarTable.isEmpty()) {
+					k.allInstVarTable = inherited;
+				}
+				else {
+					SymbolMap<InstVarDecl> table = inherited == null
+						? new SymbolMap<InstVarDecl>()
+						: new SymbolMap<InstVarDecl>(inherited);
+					table.putAll(k.instVarTable);
+					k.allInstVarTable = table;
+				}
+			}
 		}
+	}
 
-		if (globalSymTab.get(superClassName).superName.equals(current.name)) {
-			errorMsg.error(current.pos, "Superclass name " + globalSymTab.get(superClassName).name + " is extending current class : " + current.name);
-			return true;
+	// report each cycle in the superLink graph once; return whether there
+	// were any. Every class has at most one superclass, so following the
+	// superLinks from a class either ends at a root, reaches a class seen on
+	// an earlier walk, or comes back to a class on the current walk, in which
+	// case the classes from there on form a new cycle. Each class is visited
+	// once, so the check is linear in the number of classes.
+	private boolean reportClassCycles(List<ClassDecl> classes) {
+		IdentityHashMap<ClassDecl,Integer> walkNum =
+			new IdentityHashMap<ClassDecl,Integer>(2*classes.size());
+		boolean rtnVal = false;
+		for (int i = 0; i < classes.size(); i++) {
+			ClassDecl p = classes.get(i);
+			while (p != null && !walkNum.containsKey(p)) {
+				walkNum.put(p, i);
+				p = p.superLink;
+			}
+			if (p != null && walkNum.get(p) == i) {
+				// p is on a cycle found during this walk
+				StringBuilder sb = new StringBuilder(p.name);
+				ClassDecl c = p;
+				do {
+					c = c.superLink;
+					sb.append(" -> ").append(c.name);
+				} while (c != p);
+				errorMsg.error(p.pos, "Error: inheritance cycle: ", sb.toString());
+				rtnVal = true;
+			}
 		}
-
-		return false;
+		return rtnVal;
 	}
 	
 }
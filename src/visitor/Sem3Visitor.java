@@ -2,6 +2,7 @@ package visitor;
 
 import syntaxtree.*;
 import java.util.*;
+import java.util.concurrent.*;
 import errorMsg.*;
 // The purpose of this class is to:
 // - link each variable reference to its corresponding VarDecl
@@ -15,32 +16,57 @@ import errorMsg.*;
 // - report conflicting local variable names (including formal
 //   parameter names)
 // - ensure that no instance variable has the name 'length'
-public class Sem3Visitor extends ASTvisitor {
+// The tree is walked by a TreeWalker, with the work done in the pre and
+// post hooks, so deeply nested code does not overflow the Java stack.
+// Visiting a Program or ClassDecl starts such a walk.
+// Given a ForkJoinPool, a Program's classes are checked in parallel, in
+// chunks of consecutive classes. Each chunk gets its own Sem3Visitor (so
+// its scopes and break targets are private) and a DeferredErrorMsg; the
+// chunks' messages are then replayed in class order, so the links and the
+// diagnostics are the same as in a serial run. This works because after
+// phase 2 the work for a class only reads the shared tables and only
+// writes into that class's subtree.
+public class Sem3Visitor extends ASTvisitor implements TraversalHooks {
 
 	// maps class name to its ClassDecl node
-	Hashtable<String, ClassDecl> globalSymTab;
+	GlobalSymTab globalSymTab;
 	ClassDecl currentClass;
 
-	Hashtable<String, VarDecl> localSymTab;
-	Stack<BreakTarget> breakTargetStack;
-	Stack<While> loopStack;
+	LocalSymTab localSymTab; // locals and formals in the enclosing scopes
+	ArrayDeque<BreakTarget> breakTargetStack; // innermost target first
 	VarDecl uninitVarDecl; // current local variable processed
 
 	ErrorMsg errorMsg;
+	TreeWalker walker;
+	ForkJoinPool pool; // runs the classes in parallel; null for a serial run
+
+	// the number of classes that a parallel task checks by itself
+	private static final int CLASSES_PER_TASK = 16;
 
 	// dummy variable declaration indicating "uninitialized variable"
 	// private static VarDecl uninitVarDecl = new InstVarDecl(-1, null, "$$$$");
 
-	public Sem3Visitor(Hashtable globalSymTb, ErrorMsg e) {
+	public Sem3Visitor(GlobalSymTab globalSymTb, ErrorMsg e) {
 	    errorMsg = e;
 		initInstanceVars(globalSymTb);
 	}
 
-	private void initInstanceVars(Hashtable<String,ClassDecl> globalTab) {
-		breakTargetStack = new Stack<BreakTarget>(); // Keep track of enclosing While / Switch statements
-		loopStack = new Stack<While>();
+	/**
+	 * @param globalSymTb the class table built by the earlier phases
+	 * @param e where errors are reported
+	 * @param pool the pool in which to check a Program's classes, or null
+	 * to check them serially
+	 */
+	public Sem3Visitor(GlobalSymTab globalSymTb, ErrorMsg e, ForkJoinPool pool) {
+		this(globalSymTb, e);
+		this.pool = pool;
+	}
+
+	private void initInstanceVars(GlobalSymTab globalTab) {
+		breakTargetStack = new ArrayDeque<BreakTarget>(); // Keep track of enclosing While / Switch statements
 		globalSymTab = globalTab; // Map class name to corresponding ClassDecl node
-		localSymTab = new Hashtable<String,VarDecl>(); // Symbol table to track local vars
+		localSymTab = new LocalSymTab(); // Symbol table to track local vars
+		walker = new TreeWalker(this);
 
 
 		currentClass = null;
@@ -48,71 +74,149 @@ public class Sem3Visitor extends ASTvisitor {
 	}
 
 	@Override
-	public Object visitClassDecl(ClassDecl myClassDecl) {
-		this.currentClass = myClassDecl;
-		return super.visitClassDecl(myClassDecl);
+	public Object visitProgram(Program myProgram) {
+		ClassDeclList classes = myProgram.classDecls;
+		int numChunks = classes == null ? 0 : (classes.size() + CLASSES_PER_TASK - 1) / CLASSES_PER_TASK;
+		if (pool == null || numChunks < 2) {
+			walker.walk(myProgram);
+			return null;
+		}
+		walker.walk(myProgram.mainStatement);
+		DeferredErrorMsg[] chunkErrors = new DeferredErrorMsg[numChunks];
+		pool.invoke(new ChunkTask(classes, chunkErrors, 0, numChunks));
+		for (DeferredErrorMsg errs : chunkErrors) {
+			errs.replayTo(errorMsg);
+		}
+		return null;
+	}
+
+	// checks the classes in chunks lo through hi-1, splitting the range
+	// until it is a single chunk
+	private class ChunkTask extends RecursiveAction {
+		private ClassDeclList classes;
+		private DeferredErrorMsg[] chunkErrors; // filled in by chunk
+		private int lo;
+		private int hi;
+
+		ChunkTask(ClassDeclList classes, DeferredErrorMsg[] chunkErrors, int lo, int hi) {
+			this.classes = classes;
+			this.chunkErrors = chunkErrors;
+			this.lo = lo;
+			this.hi = hi;
+		}
+
+		@Override
+		protected void compute() {
+			if (hi - lo > 1) {
+				int mid = (lo + hi) >>> 1;
+				invokeAll(new ChunkTask(classes, chunkErrors, lo, mid),
+						new ChunkTask(classes, chunkErrors, mid, hi));
+				return;
+			}
+			// a worker thread has no AstContext, so nothing here may create
+			// nodes or node attributes; phase 3 only reads names and links
+			DeferredErrorMsg errs = new DeferredErrorMsg(errorMsg.getFileName());
+			Sem3Visitor vis = new Sem3Visitor(globalSymTab, errs);
+			int end = Math.min(classes.size(), (lo+1) * CLASSES_PER_TASK);
+			for (int i = lo * CLASSES_PER_TASK; i < end; i++) {
+				vis.walker.walk(classes.get(i));
+			}
+			chunkErrors[lo] = errs;
+		}
 	}
 
-	// create a new Hashtable object and store it in localSymTab, traverse the subnodes
 	@Override
-	public Object visitMethodDecl(MethodDecl myMethod) {
-		this.localSymTab = new Hashtable<String, VarDecl>();
-		return super.visitMethodDecl(myMethod);
+	public Object visitClassDecl(ClassDecl myClassDecl) {
+		walker.walk(myClassDecl);
+		return null;
 	}
 
 	@Override
-	public Object visitVarDecl(VarDecl myLocalVar) {
-		// put entry in local symbol table, binding to uninitVarDecl
-		this.uninitVarDecl = myLocalVar;
+	public boolean pre(AstNode n) {
+		switch (n.kind()) {
+		case NodeKind.CLASS_DECL:
+			this.currentClass = (ClassDecl)n;
+			break;
+		case NodeKind.METHOD_DECL_VOID:
+		case NodeKind.METHOD_DECL_NON_VOID:
+			// a scope for the method's formals and locals, including the
+			// return expression
+			this.localSymTab.pushScope();
+			break;
+		case NodeKind.LOCAL_VAR_DECL:
+			// the variable is not yet usable in its own initializer
+			this.uninitVarDecl = (VarDecl)n;
+			break;
+		case NodeKind.INST_VAR_DECL:
+			checkInstVarDecl((InstVarDecl)n);
+			break;
+		case NodeKind.BLOCK:
+			// the block's local declarations go away at its end
+			this.localSymTab.pushScope();
+			break;
+		case NodeKind.IDENTIFIER_EXP:
+			resolveIdentifierExp((IdentifierExp)n);
+			break;
+		case NodeKind.IDENTIFIER_TYPE:
+			resolveIdentifierType((IdentifierType)n);
+			break;
+		case NodeKind.WHILE:
+			// before subnodes pushes the While node onto stack
+			breakTargetStack.push((While)n);
+			break;
+		case NodeKind.SWITCH:
+			breakTargetStack.push((Switch)n);
+			break;
+		case NodeKind.BREAK:
+			linkBreak((Break)n);
+			break;
+		}
+		return true;
+	}
 
-		// Traverse subnodes
-		super.visitVarDecl(myLocalVar);
+	@Override
+	public void post(AstNode n) {
+		switch (n.kind()) {
+		case NodeKind.METHOD_DECL_VOID:
+		case NodeKind.METHOD_DECL_NON_VOID:
+		case NodeKind.BLOCK:
+			this.localSymTab.popScope();
+			break;
+		case NodeKind.FORMAL_DECL:
+			declareLocal((VarDecl)n);
+			break;
+		case NodeKind.LOCAL_VAR_DECL:
+			// Clear current local var decl
+			this.uninitVarDecl = null;
+			declareLocal((VarDecl)n);
+			break;
+		case NodeKind.WHILE:
+		case NodeKind.SWITCH:
+			breakTargetStack.pop();
+			break;
+		}
+	}
 
-		// replace entry in local symbol table with actual variable
-		if (!this.localSymTab.containsKey(myLocalVar.name)) {
-			this.localSymTab.put(myLocalVar.name, myLocalVar);
+	// enter a local variable or formal parameter in the innermost scope
+	private void declareLocal(VarDecl myVar) {
+		if (this.localSymTab.lookup(myVar.nameSym) == null) {
+			this.localSymTab.declare(myVar.nameSym, myVar);
 		}
 		else {
-			errorMsg.error(myLocalVar.pos, "Duplicate variable name: " + myLocalVar.name);
+			errorMsg.error(myVar.pos, "Duplicate variable name: ", myVar.name);
 		}
-
-		// Clear current local var decl
-		this.uninitVarDecl = null;
-
-		return null;
-
 	}
 
-
-	@Override
-	public Object visitInstVarDecl(InstVarDecl myInstVar) {
+	// instance variables live in the class's instVarTable, not in the
+	// local symbol table; only the name needs checking
+	private void checkInstVarDecl(InstVarDecl myInstVar) {
 		// Check to make sure name of var is NOT length
 		if (myInstVar.name.equals("length")) {
 			errorMsg.error(myInstVar.pos, "Error: instance variable cannot be named \" length \"");
 		}
-
-		return super.visitInstVarDecl(myInstVar);
 	}
 
-	@Override
-	public Object visitBlock(Block myBlock) {
-		// traverse subnodes
-		super.visitBlock(myBlock);
-
-		// remove each var declaration in local symbol table that corresponds to declaration in this block's statement list
-		for (Statement stmt: myBlock.stmts) {
-			if (stmt instanceof LocalDeclStatement) {
-				localSymTab.remove(((LocalDeclStatement) stmt).localVarDecl.name);
-			}
-
-		}
-
-		return null;
-	}
-
-
-	@Override
-	public Object visitIdentifierExp(IdentifierExp myID) {
+	private void resolveIdentifierExp(IdentifierExp myID) {
 		VarDecl link = null;
 
 		// local decl equal to uninitVarDecl, give error
@@ -124,21 +228,12 @@ public class Sem3Visitor extends ASTvisitor {
 		}
 
 		// otherwise, set IDExp's link so it refers to declaration
-		if (localSymTab.containsKey(myID.name)) {
-			link = localSymTab.get(myID.name);
-		}
+		link = localSymTab.lookup(myID.nameSym);
 
-		// identifier not found:
-		else {
-			ClassDecl c = currentClass;
-
-			while (c.superLink != null) {
-				if (c.instVarTable.containsKey(myID.name)) {
-					link = c.instVarTable.get(myID.name);
-					break;
-				}
-				c = c.superLink;
-			}
+		// not a local: look for an instance variable in this class or a
+		// superclass
+		if (link == null && currentClass.allInstVarTable != null) {
+			link = currentClass.allInstVarTable.get(myID.nameSym);
 		}
 
 		// Set the link
@@ -146,49 +241,26 @@ public class Sem3Visitor extends ASTvisitor {
 			myID.link = link;
 		}
 		else {
-			errorMsg.error(myID.pos, "Undefined variable name: " + myID.name);
+			errorMsg.error(myID.pos, "Undefined variable name: ", myID.name);
 		}
-
-		return null;
-
 	}
 
-	@Override
-	public Object visitIdentifierType(IdentifierType myIDType) {
-		if (globalSymTab.containsKey(myIDType.name)) {
-			myIDType.link = globalSymTab.get(myIDType.name);
+	private void resolveIdentifierType(IdentifierType myIDType) {
+		if (globalSymTab.containsKey(myIDType.nameSym)) {
+			myIDType.link = globalSymTab.get(myIDType.nameSym);
 		}
 		else {
-			errorMsg.error(myIDType.pos, "Undefined class name: " + myIDType.name);
+			errorMsg.error(myIDType.pos, "Undefined class name: ", myIDType.name);
 		}
-
-		return null;
-	}
-
-	@Override
-	public Object visitWhile(While myWhile) {
-		// before subnodes pushes the While node onto stack
-		breakTargetStack.push(myWhile);
-		super.visitWhile(myWhile);
-		breakTargetStack.pop();
-
-		return null;
 	}
 
-	@Override
-	public Object visitBreak(Break myBreak) {
+	private void linkBreak(Break myBreak) {
 		// if empty breakTargetStack, emit error
 		if (breakTargetStack.isEmpty()) {
 			errorMsg.error(myBreak.pos, "Break statement outside of loop/switch");
 		}
 		else {
-			myBreak.breakLink = breakTargetStack.firstElement();
+			myBreak.breakLink = breakTargetStack.peek();
 		}
-
-		return null;
-
 	}
 }
-
-
-
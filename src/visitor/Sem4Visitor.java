@@ -0,0 +1,440 @@
+package visitor;
+
+import syntaxtree.*;
+import java.util.*;
+import errorMsg.*;
+// The purpose of this class is to:
+// - set the 'type' of each expression
+//   - all types are canonical (see TypeTable), so types are compared
+//     with ==
+// - link each method call to the declaration of the method it calls
+//   (via its 'methodLink' instance variable)
+//   - undefined method names are reported
+// - link each instance-variable access to the variable's declaration
+//   (via its 'varDec' instance variable)
+//   - undefined instance-variable names are reported
+// - link each case and default label to its switch statement
+// - report type errors in expressions, assignments, conditions,
+//   initializers, method arguments and return values, and bad
+//   case labels
+// As in phase 3, the tree is walked by a TreeWalker. An expression's type
+// is computed in the post hook, after its operands have been typed. An
+// expression whose type cannot be determined gets a null type, and no
+// further errors are reported for the expressions that use it.
+public class Sem4Visitor extends ASTvisitor implements TraversalHooks {
+
+	GlobalSymTab globalSymTab;
+	TypeTable types;
+	ClassDecl currentClass;
+	IdentifierType stringType; // the type of string literals
+
+	// the canonical type of each variable declaration, filled in on demand
+	NodeAttribute<Type> declTypes;
+
+	// enclosing switch statements, innermost first, and the label values
+	// seen so far in each
+	ArrayDeque<Switch> switchStack;
+	ArrayDeque<HashSet<Object>> labelStack;
+
+	ErrorMsg errorMsg;
+	TreeWalker walker;
+
+	// stands for 'default' in a switch's set of label values
+	private static final Object DEFAULT_LABEL = new Object();
+
+	/**
+	 * @param globalSymTb the class table built by the earlier phases
+	 * @param e where errors are reported
+	 */
+	public Sem4Visitor(GlobalSymTab globalSymTb, ErrorMsg e) {
+		errorMsg = e;
+		globalSymTab = globalSymTb;
+		types = new TypeTable(PredefinedClasses.types(), globalSymTab.hierarchy());
+		stringType = types.classType(globalSymTab.get("String"));
+		declTypes = new NodeAttribute<Type>(AstContext.current());
+		switchStack = new ArrayDeque<Switch>();
+		labelStack = new ArrayDeque<HashSet<Object>>();
+		walker = new TreeWalker(this);
+		currentClass = null;
+	}
+
+	/**
+	 * @return the canonical types used by this phase
+	 */
+	public TypeTable getTypeTable() {
+		return types;
+	}
+
+	@Override
+	public Object visitProgram(Program myProgram) {
+		walker.walk(myProgram);
+		return null;
+	}
+
+	@Override
+	public Object visitClassDecl(ClassDecl myClassDecl) {
+		walker.walk(myClassDecl);
+		return null;
+	}
+
+	@Override
+	public boolean pre(AstNode n) {
+		switch (n.kind()) {
+		case NodeKind.CLASS_DECL:
+			currentClass = (ClassDecl)n;
+			break;
+		case NodeKind.SWITCH:
+			switchStack.push((Switch)n);
+			labelStack.push(new HashSet<Object>());
+			break;
+		}
+		return true;
+	}
+
+	@Override
+	public void post(AstNode n) {
+		switch (n.kind()) {
+
+		// declarations and statements
+		case NodeKind.LOCAL_VAR_DECL: {
+			LocalVarDecl dec = (LocalVarDecl)n;
+			checkAssignable(dec.initExp, declType(dec));
+			break;
+		}
+		case NodeKind.METHOD_DECL_NON_VOID: {
+			MethodDeclNonVoid dec = (MethodDeclNonVoid)n;
+			checkAssignable(dec.rtnExp, types.canonical(dec.rtnType));
+			break;
+		}
+		case NodeKind.IF:
+			checkType(((If)n).exp, types.booleanType);
+			break;
+		case NodeKind.WHILE:
+			checkType(((While)n).exp, types.booleanType);
+			break;
+		case NodeKind.SWITCH:
+			checkType(((Switch)n).exp, types.intType);
+			switchStack.pop();
+			labelStack.pop();
+			break;
+		case NodeKind.CASE:
+			checkCase((Case)n);
+			break;
+		case NodeKind.DEFAULT:
+			checkDefault((Default)n);
+			break;
+		case NodeKind.ASSIGN:
+			checkAssign((Assign)n);
+			break;
+
+		// expressions
+		case NodeKind.AND:
+		case NodeKind.OR:
+			typeBinExp((BinExp)n, types.booleanType, types.booleanType);
+			break;
+		case NodeKind.LESS_THAN:
+		case NodeKind.GREATER_THAN:
+			typeBinExp((BinExp)n, types.intType, types.booleanType);
+			break;
+		case NodeKind.PLUS:
+		case NodeKind.MINUS:
+		case NodeKind.TIMES:
+		case NodeKind.DIVIDE:
+		case NodeKind.REMAINDER:
+			typeBinExp((BinExp)n, types.intType, types.intType);
+			break;
+		case NodeKind.EQUALS:
+			typeEquals((Equals)n);
+			break;
+		case NodeKind.NOT: {
+			Not e = (Not)n;
+			e.type = checkType(e.exp, types.booleanType) ? types.booleanType : null;
+			break;
+		}
+		case NodeKind.ARRAY_LENGTH:
+			typeArrayLength((ArrayLength)n);
+			break;
+		case NodeKind.ARRAY_LOOKUP:
+			typeArrayLookup((ArrayLookup)n);
+			break;
+		case NodeKind.CALL:
+			typeCall((Call)n);
+			break;
+		case NodeKind.CAST:
+			typeCast((Cast)n);
+			break;
+		case NodeKind.INSTANCE_OF:
+			typeInstanceOf((InstanceOf)n);
+			break;
+		case NodeKind.IDENTIFIER_EXP: {
+			IdentifierExp e = (IdentifierExp)n;
+			e.type = e.link == null ? null : declType(e.link);
+			break;
+		}
+		case NodeKind.INST_VAR_ACCESS:
+			typeInstVarAccess((InstVarAccess)n);
+			break;
+		case NodeKind.INTEGER_LITERAL:
+			((Exp)n).type = types.intType;
+			break;
+		case NodeKind.STRING_LITERAL:
+			((Exp)n).type = stringType;
+			break;
+		case NodeKind.TRUE:
+		case NodeKind.FALSE:
+			((Exp)n).type = types.booleanType;
+			break;
+		case NodeKind.NULL_LITERAL:
+			((Exp)n).type = types.nullType;
+			break;
+		case NodeKind.THIS:
+			((Exp)n).type = types.classType(currentClass);
+			break;
+		case NodeKind.SUPER:
+			((Exp)n).type = currentClass.superLink == null ? null :
+				types.classType(currentClass.superLink);
+			break;
+		case NodeKind.NEW_OBJECT: {
+			NewObject e = (NewObject)n;
+			e.type = types.canonical(e.objType);
+			break;
+		}
+		case NodeKind.NEW_ARRAY:
+			typeNewArray((NewArray)n);
+			break;
+		}
+	}
+
+	// the canonical type of a variable, computed once per declaration
+	private Type declType(VarDecl dec) {
+		Type rtnVal = declTypes.get(dec);
+		if (rtnVal == null) {
+			rtnVal = types.canonical(dec.type);
+			declTypes.set(dec, rtnVal);
+		}
+		return rtnVal;
+	}
+
+	// reports an error unless the expression has the given type; an
+	// expression without a type is accepted silently
+	private boolean checkType(Exp e, Type t) {
+		if (e.type == null) return false;
+		if (e.type != t) {
+			errorMsg.error(e.pos, "Error: expected type "+t+", found ", e.type.toString());
+			return false;
+		}
+		return true;
+	}
+
+	// reports an error unless the expression's value may be assigned to
+	// a variable of the given type
+	private void checkAssignable(Exp e, Type to) {
+		if (e == null || e.type == null || to == null) return;
+		if (!types.isAssignable(e.type, to)) {
+			errorMsg.error(e.pos, "Error: incompatible types: "+e.type+" cannot be converted to ", to.toString());
+		}
+	}
+
+	private void checkAssign(Assign a) {
+		switch (a.lhs.kind()) {
+		case NodeKind.IDENTIFIER_EXP:
+		case NodeKind.ARRAY_LOOKUP:
+		case NodeKind.INST_VAR_ACCESS:
+			checkAssignable(a.rhs, a.lhs.type);
+			break;
+		default:
+			errorMsg.error(a.lhs.pos, "Error: left side of assignment is not a variable");
+		}
+	}
+
+	private void checkCase(Case c) {
+		c.enclosingSwitch = switchStack.peek();
+		if (c.enclosingSwitch == null) {
+			errorMsg.error(c.pos, "Error: case label outside of switch");
+			return;
+		}
+		if (!checkType(c.exp, types.intType)) return;
+		Integer val = constantValue(c.exp);
+		if (val == null) {
+			errorMsg.error(c.exp.pos, "Error: case label is not a constant");
+		}
+		else if (!labelStack.peek().add(val)) {
+			errorMsg.error(c.pos, "Error: duplicate case label: ", val.toString());
+		}
+	}
+
+	private void checkDefault(Default d) {
+		d.enclosingSwitch = switchStack.peek();
+		if (d.enclosingSwitch == null) {
+			errorMsg.error(d.pos, "Error: default label outside of switch");
+		}
+		else if (!labelStack.peek().add(DEFAULT_LABEL)) {
+			errorMsg.error(d.pos, "Error: duplicate default label");
+		}
+	}
+
+	// the value of an integer constant (a literal, possibly negated), or
+	// null if the expression is not one
+	private static Integer constantValue(Exp e) {
+		if (e instanceof IntegerLiteral) {
+			return ((IntegerLiteral)e).val;
+		}
+		else if (e instanceof Minus) {
+			Minus m = (Minus)e;
+			if (m.left instanceof IntegerLiteral && m.right instanceof IntegerLiteral) {
+				return ((IntegerLiteral)m.left).val - ((IntegerLiteral)m.right).val;
+			}
+		}
+		return null;
+	}
+
+	// both operands must have type 'operand'; the result has type 'result'
+	private void typeBinExp(BinExp e, Type operand, Type result) {
+		boolean leftOk = checkType(e.left, operand);
+		boolean rightOk = checkType(e.right, operand);
+		e.type = leftOk && rightOk ? result : null;
+	}
+
+	// the operands must both be int, both boolean, or both references
+	// with one assignable to the other
+	private void typeEquals(Equals e) {
+		Type lt = e.left.type;
+		Type rt = e.right.type;
+		if (lt == null || rt == null) {
+			e.type = null;
+		}
+		else if (lt == rt && lt != types.voidType ||
+				types.isReference(lt) && types.isReference(rt) &&
+				(types.isAssignable(lt, rt) || types.isAssignable(rt, lt))) {
+			e.type = types.booleanType;
+		}
+		else {
+			errorMsg.error(e.pos, "Error: incomparable types: "+lt+" and ", rt.toString());
+			e.type = null;
+		}
+	}
+
+	private void typeArrayLength(ArrayLength e) {
+		if (e.exp.type == null) {
+			e.type = null;
+		}
+		else if (!(e.exp.type instanceof ArrayType)) {
+			errorMsg.error(e.exp.pos, "Error: expected an array, found ", e.exp.type.toString());
+			e.type = null;
+		}
+		else {
+			e.type = types.intType;
+		}
+	}
+
+	private void typeArrayLookup(ArrayLookup e) {
+		boolean idxOk = checkType(e.idxExp, types.intType);
+		Type at = e.arrExp.type;
+		if (at == null) {
+			e.type = null;
+		}
+		else if (!(at instanceof ArrayType)) {
+			errorMsg.error(e.arrExp.pos, "Error: expected an array, found ", at.toString());
+			e.type = null;
+		}
+		else {
+			e.type = idxOk ? ((ArrayType)at).baseType : null;
+		}
+	}
+
+	// the class whose members an expression of type t has, or null if it
+	// has none (arrays have Object's members)
+	private ClassDecl classOf(Type t) {
+		if (t instanceof IdentifierType) {
+			return ((IdentifierType)t).link;
+		}
+		else if (t instanceof ArrayType) {
+			return globalSymTab.get("Object");
+		}
+		return null;
+	}
+
+	private void typeCall(Call e) {
+		e.type = null;
+		if (e.obj.type == null) return;
+		ClassDecl cls = classOf(e.obj.type);
+		if (cls == null) {
+			errorMsg.error(e.obj.pos, "Error: method call on a value of type ", e.obj.type.toString());
+			return;
+		}
+		MethodDecl meth = null;
+		for (ClassDecl c = cls; c != null && meth == null; c = c.superLink) {
+			meth = c.methodTable.get(e.methSym);
+		}
+		if (meth == null) {
+			errorMsg.error(e.pos, "Undefined method name: ", e.methName);
+			return;
+		}
+		e.methodLink = meth;
+		if (meth.formals.size() != e.parms.size()) {
+			errorMsg.error(e.pos, "Error: wrong number of arguments in call to ", e.methName);
+		}
+		else {
+			for (int i = 0; i < e.parms.size(); i++) {
+				checkAssignable(e.parms.get(i), declType(meth.formals.get(i)));
+			}
+		}
+		e.type = meth instanceof MethodDeclNonVoid ?
+			types.canonical(((MethodDeclNonVoid)meth).rtnType) : types.voidType;
+	}
+
+	// a cast or instanceof between reference types is allowed if one type
+	// is assignable to the other
+	private boolean related(Type from, Type to) {
+		return types.isAssignable(from, to) || types.isAssignable(to, from);
+	}
+
+	private void typeCast(Cast e) {
+		Type to = types.canonical(e.castType);
+		Type from = e.exp.type;
+		e.type = to;
+		if (from == null || to == null) return;
+		if (from == to) return;
+		if (!types.isReference(from) || !types.isReference(to) || !related(from, to)) {
+			errorMsg.error(e.pos, "Error: cannot cast "+from+" to ", to.toString());
+		}
+	}
+
+	private void typeInstanceOf(InstanceOf e) {
+		Type to = types.canonical(e.checkType);
+		Type from = e.exp.type;
+		e.type = types.booleanType;
+		if (from == null || to == null) return;
+		if (!types.isReference(from) || !types.isReference(to) || !related(from, to)) {
+			errorMsg.error(e.pos, "Error: incompatible types in instanceof: "+from+" and ", to.toString());
+		}
+	}
+
+	private void typeInstVarAccess(InstVarAccess e) {
+		e.type = null;
+		Type t = e.exp.type;
+		if (t == null) return;
+		if (!(t instanceof IdentifierType)) {
+			errorMsg.error(e.exp.pos, "Error: instance variable access on a value of type ", t.toString());
+			return;
+		}
+		ClassDecl cls = ((IdentifierType)t).link;
+		InstVarDecl dec = cls.allInstVarTable == null ? null : cls.allInstVarTable.get(e.varSym);
+		if (dec == null) {
+			errorMsg.error(e.pos, "Undefined instance variable name: ", e.varName);
+			return;
+		}
+		e.varDec = dec;
+		e.type = declType(dec);
+	}
+
+	private void typeNewArray(NewArray e) {
+		boolean sizeOk = checkType(e.sizeExp, types.intType);
+		Type base = types.canonical(e.objType);
+		if (base == types.voidType) {
+			errorMsg.error(e.objType.pos, "Error: array of void");
+			base = null;
+		}
+		e.type = sizeOk && base != null ? types.arrayOf(base) : null;
+	}
+}
@@ -0,0 +1,119 @@
+package visitor;
+
+import syntaxtree.*;
+import errorMsg.*;
+// The purpose of this class is to lay out the classes, so that later
+// phases can access instance variables and dispatch calls in constant
+// time:
+// - link each method that overrides an inherited method to it (via its
+//   'superMethod' instance variable)
+//   - an override whose parameter or return types differ from those of
+//     the method it overrides is reported
+// - give each method its v-table slot (its 'vtableOffset'); an
+//   overriding method takes the slot of the method it overrides, and
+//   other methods get new slots after those of the superclass
+// - build each class's v-table (its 'vtable'), sharing the parts that
+//   are the same as the superclass's
+// - give each instance variable its offset: int and boolean variables
+//   are numbered among the class's data variables, all others among its
+//   object variables, in both cases after those of the superclass
+// - set each class's 'numDataInstVars' and 'numObjInstVars', which
+//   include the inherited variables
+// A call's slot is then its methodLink's vtableOffset.
+// Visiting a Program lays out its classes in the order given by the class
+// hierarchy, so that each class comes after its superclass; visiting a
+// ClassDecl lays out that class, whose superclass must have been laid out
+// already.
+public class Sem5Visitor extends ASTvisitor {
+
+	GlobalSymTab globalSymTab;
+	ErrorMsg errorMsg;
+
+	public Sem5Visitor(GlobalSymTab globalSymTb, ErrorMsg e) {
+		globalSymTab = globalSymTb;
+		errorMsg = e;
+	}
+
+	@Override
+	public Object visitProgram(Program myProgram) {
+		for (ClassDecl c : globalSymTab.hierarchy().classes()) {
+			// the predefined classes were laid out when they were built
+			if (!globalSymTab.isShared(c)) {
+				visitClassDecl(c);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public Object visitClassDecl(ClassDecl myClass) {
+		ClassDecl sup = myClass.superLink;
+		int numData = sup == null ? 0 : sup.numDataInstVars;
+		int numObj = sup == null ? 0 : sup.numObjInstVars;
+		VTable.Builder vtable = (sup == null ? VTable.EMPTY : sup.vtable).extend();
+		for (Decl d : myClass.decls) {
+			if (d instanceof InstVarDecl) {
+				InstVarDecl v = (InstVarDecl)d;
+				if (isDataType(v.type)) {
+					v.offset = numData++;
+				}
+				else {
+					v.offset = numObj++;
+				}
+			}
+			else if (d instanceof MethodDecl) {
+				MethodDecl m = (MethodDecl)d;
+				MethodDecl overridden = sup == null ? null : lookupMethod(sup, m.nameSym);
+				if (overridden != null) {
+					checkOverride(m, overridden);
+					m.superMethod = overridden;
+					m.vtableOffset = overridden.vtableOffset;
+					vtable.set(m.vtableOffset, m);
+				}
+				else {
+					m.vtableOffset = vtable.append(m);
+				}
+			}
+		}
+		myClass.numDataInstVars = numData;
+		myClass.numObjInstVars = numObj;
+		myClass.vtable = vtable.build();
+		return null;
+	}
+
+	// whether variables of the type hold plain values rather than
+	// references
+	private static boolean isDataType(Type t) {
+		return t instanceof IntegerType || t instanceof BooleanType;
+	}
+
+	// the method with the given name symbol in a class or its nearest
+	// superclass that has one; null if none
+	private static MethodDecl lookupMethod(ClassDecl c, int sym) {
+		for (; c != null; c = c.superLink) {
+			MethodDecl rtnVal = c.methodTable.get(sym);
+			if (rtnVal != null) return rtnVal;
+		}
+		return null;
+	}
+
+	// an overriding method must have the same parameter and return types
+	// as the method it overrides
+	private void checkOverride(MethodDecl m, MethodDecl overridden) {
+		boolean same = m.formals.size() == overridden.formals.size() &&
+				sameReturnType(m, overridden);
+		for (int i = 0; same && i < m.formals.size(); i++) {
+			same = m.formals.get(i).type.equals(overridden.formals.get(i).type);
+		}
+		if (!same) {
+			errorMsg.error(m.pos, "Error: method overridden with a different signature: ", m.name);
+		}
+	}
+
+	private static boolean sameReturnType(MethodDecl m1, MethodDecl m2) {
+		if (m1 instanceof MethodDeclNonVoid && m2 instanceof MethodDeclNonVoid) {
+			return ((MethodDeclNonVoid)m1).rtnType.equals(((MethodDeclNonVoid)m2).rtnType);
+		}
+		return !(m1 instanceof MethodDeclNonVoid) && !(m2 instanceof MethodDeclNonVoid);
+	}
+}
@@ -0,0 +1,22 @@
+package visitor;
+
+import syntaxtree.AstNode;
+
+/**
+ * what a TreeWalker calls at each node of the tree it walks
+ */
+public interface TraversalHooks {
+
+	/**
+	 * called when the walk reaches a node, before its children
+	 * @param n the node
+	 * @return whether to walk the node's children
+	 */
+	public boolean pre(AstNode n);
+
+	/**
+	 * called after the node's children have been walked (or skipped)
+	 * @param n the node
+	 */
+	public void post(AstNode n);
+}
@@ -0,0 +1,371 @@
+package visitor;
+
+import syntaxtree.*;
+
+/**
+ * walks an AST depth-first, calling a TraversalHooks's pre and post at
+ * each node. Children are walked in the same order as in ASTvisitor, with
+ * the elements of a list in order; null children are skipped.
+ *
+ * The walk recurses on the Java stack, which is the fastest way to walk
+ * a tree of ordinary depth. Below a depth limit, it goes on with a stack
+ * of (node, next child) frames of its own, so the depth of the tree it
+ * can walk is limited only by the heap, and deeply nested input cannot
+ * overflow the Java stack as it can with a Visitor. A walker can be
+ * reused, but not by two threads at once.
+ */
+public class TreeWalker {
+
+	// the default depth, in nodes, below which the walk stops recursing
+	public static final int DEFAULT_MAX_RECURSION = 500;
+
+	private final TraversalHooks hooks;
+	private final int maxRecursion;
+
+	// the stack: the nodes and lists whose children are being walked, the
+	// NodeKind code of each, and the number of its next child
+	private Object[] nodes = new Object[64];
+	private int[] kinds = new int[64];
+	private int[] nextChild = new int[64];
+	private int sp;
+
+	/**
+	 * constructor
+	 * @param hooks what to call at each node
+	 */
+	public TreeWalker(TraversalHooks hooks) {
+		this(hooks, DEFAULT_MAX_RECURSION);
+	}
+
+	/**
+	 * constructor
+	 * @param hooks what to call at each node
+	 * @param maxRecursion the depth below which the walk uses its own
+	 * stack rather than the Java stack; 0 to never recurse
+	 */
+	public TreeWalker(TraversalHooks hooks, int maxRecursion) {
+		this.hooks = hooks;
+		this.maxRecursion = maxRecursion;
+	}
+
+	/**
+	 * walks a tree
+	 * @param root the tree's root
+	 */
+	public void walk(AstNode root) {
+		walk(root, 0);
+	}
+
+	// walks a subtree whose root is at the given depth
+	private void walk(AstNode n, int depth) {
+		if (depth >= maxRecursion) {
+			walkWithStack(n);
+		}
+		else if (hooks.pre(n)) {
+			walkChildren(n, depth + 1);
+			hooks.post(n);
+		}
+		else {
+			hooks.post(n);
+		}
+	}
+
+	// walks a child that may be null
+	private void walkChild(AstNode n, int depth) {
+		if (n != null) {
+			walk(n, depth);
+		}
+	}
+
+	private void walkList(AstList<? extends AstNode> lst, int depth) {
+		if (lst != null) {
+			for (int i = 0; i < lst.size(); i++) {
+				walkChild(lst.get(i), depth);
+			}
+		}
+	}
+
+	// walks the children of a node, which are at the given depth, in the
+	// same order as child()
+	private void walkChildren(AstNode n, int depth) {
+		switch (n.kind()) {
+		case NodeKind.PROGRAM:
+			walkChild(((Program)n).mainStatement, depth);
+			walkList(((Program)n).classDecls, depth);
+			break;
+		case NodeKind.CLASS_DECL:
+			walkList(((ClassDecl)n).decls, depth);
+			break;
+		case NodeKind.METHOD_DECL_VOID:
+			walkList(((MethodDecl)n).formals, depth);
+			walkList(((MethodDecl)n).stmts, depth);
+			break;
+		case NodeKind.METHOD_DECL_NON_VOID:
+			walkList(((MethodDecl)n).formals, depth);
+			walkList(((MethodDecl)n).stmts, depth);
+			walkChild(((MethodDeclNonVoid)n).rtnType, depth);
+			walkChild(((MethodDeclNonVoid)n).rtnExp, depth);
+			break;
+		case NodeKind.INST_VAR_DECL: case NodeKind.FORMAL_DECL:
+			walkChild(((VarDecl)n).type, depth);
+			break;
+		case NodeKind.LOCAL_VAR_DECL:
+			walkChild(((VarDecl)n).type, depth);
+			walkChild(((LocalVarDecl)n).initExp, depth);
+			break;
+		case NodeKind.ARRAY_TYPE:
+			walkChild(((ArrayType)n).baseType, depth);
+			break;
+		case NodeKind.BLOCK:
+			walkList(((Block)n).stmts, depth);
+			break;
+		case NodeKind.IF:
+			walkChild(((If)n).exp, depth);
+			walkChild(((If)n).trueStmt, depth);
+			walkChild(((If)n).falseStmt, depth);
+			break;
+		case NodeKind.WHILE:
+			walkChild(((While)n).exp, depth);
+			walkChild(((While)n).body, depth);
+			break;
+		case NodeKind.SWITCH:
+			walkChild(((Switch)n).exp, depth);
+			walkList(((Switch)n).stmts, depth);
+			break;
+		case NodeKind.CASE:
+			walkChild(((Case)n).exp, depth);
+			break;
+		case NodeKind.ASSIGN:
+			walkChild(((Assign)n).lhs, depth);
+			walkChild(((Assign)n).rhs, depth);
+			break;
+		case NodeKind.CALL_STATEMENT:
+			walkChild(((CallStatement)n).callExp, depth);
+			break;
+		case NodeKind.LOCAL_DECL_STATEMENT:
+			walkChild(((LocalDeclStatement)n).localVarDecl, depth);
+			break;
+		case NodeKind.AND: case NodeKind.OR: case NodeKind.EQUALS:
+		case NodeKind.LESS_THAN: case NodeKind.GREATER_THAN:
+		case NodeKind.PLUS: case NodeKind.MINUS: case NodeKind.TIMES:
+		case NodeKind.DIVIDE: case NodeKind.REMAINDER:
+			walkChild(((BinExp)n).left, depth);
+			walkChild(((BinExp)n).right, depth);
+			break;
+		case NodeKind.NOT: case NodeKind.ARRAY_LENGTH:
+			walkChild(((UnExp)n).exp, depth);
+			break;
+		case NodeKind.ARRAY_LOOKUP:
+			walkChild(((ArrayLookup)n).arrExp, depth);
+			walkChild(((ArrayLookup)n).idxExp, depth);
+			break;
+		case NodeKind.CALL:
+			walkChild(((Call)n).obj, depth);
+			walkList(((Call)n).parms, depth);
+			break;
+		case NodeKind.CAST:
+			walkChild(((Cast)n).castType, depth);
+			walkChild(((Cast)n).exp, depth);
+			break;
+		case NodeKind.INSTANCE_OF:
+			walkChild(((InstanceOf)n).exp, depth);
+			walkChild(((InstanceOf)n).checkType, depth);
+			break;
+		case NodeKind.INST_VAR_ACCESS:
+			walkChild(((InstVarAccess)n).exp, depth);
+			break;
+		case NodeKind.NEW_ARRAY:
+			walkChild(((NewArray)n).objType, depth);
+			walkChild(((NewArray)n).sizeExp, depth);
+			break;
+		case NodeKind.NEW_OBJECT:
+			walkChild(((NewObject)n).objType, depth);
+			break;
+		}
+	}
+
+	// walks a subtree with the walker's own stack
+	private void walkWithStack(AstNode root) {
+		int base = sp; // so that a hook may start a walk of its own
+		enter(root);
+		while (sp > base) {
+			int top = sp - 1;
+			Object child = child(nodes[top], kinds[top], nextChild[top]++);
+			if (child == END) {
+				Object done = nodes[top];
+				nodes[--sp] = null;
+				if (done instanceof AstNode) {
+					hooks.post((AstNode)done);
+				}
+			}
+			else if (child instanceof AstList) {
+				push(child, ((AstList<?>)child).kind());
+			}
+			else if (child != null) {
+				enter((AstNode)child);
+			}
+		}
+	}
+
+	// calls pre, then either starts on the node's children or calls post
+	private void enter(AstNode n) {
+		if (hooks.pre(n)) {
+			push(n, n.kind());
+		}
+		else {
+			hooks.post(n);
+		}
+	}
+
+	private void push(Object n, int kind) {
+		if (sp == nodes.length) {
+			Object[] newNodes = new Object[2*sp];
+			System.arraycopy(nodes, 0, newNodes, 0, sp);
+			nodes = newNodes;
+			kinds = grow(kinds);
+			nextChild = grow(nextChild);
+		}
+		nodes[sp] = n;
+		kinds[sp] = kind;
+		nextChild[sp] = 0;
+		sp++;
+	}
+
+	// marks the end of a node's children
+	private static final Object END = new Object();
+
+	/**
+	 * @param n a node or list
+	 * @param kind its NodeKind code
+	 * @param i a child number
+	 * @return the node's i-th child (possibly null), or END if there is none
+	 */
+	private static Object child(Object n, int kind, int i) {
+		switch (kind) {
+		case NodeKind.CLASS_DECL_LIST: case NodeKind.DECL_LIST:
+		case NodeKind.VAR_DECL_LIST: case NodeKind.STATEMENT_LIST:
+		case NodeKind.EXP_LIST: {
+			AstList<?> lst = (AstList<?>)n;
+			return i < lst.size() ? lst.get(i) : END;
+		}
+		case NodeKind.PROGRAM:
+			switch (i) {
+			case 0: return ((Program)n).mainStatement;
+			case 1: return ((Program)n).classDecls;
+			}
+			return END;
+		case NodeKind.CLASS_DECL:
+			return i == 0 ? ((ClassDecl)n).decls : END;
+		case NodeKind.METHOD_DECL_VOID:
+			switch (i) {
+			case 0: return ((MethodDecl)n).formals;
+			case 1: return ((MethodDecl)n).stmts;
+			}
+			return END;
+		case NodeKind.METHOD_DECL_NON_VOID:
+			switch (i) {
+			case 0: return ((MethodDecl)n).formals;
+			case 1: return ((MethodDecl)n).stmts;
+			case 2: return ((MethodDeclNonVoid)n).rtnType;
+			case 3: return ((MethodDeclNonVoid)n).rtnExp;
+			}
+			return END;
+		case NodeKind.INST_VAR_DECL: case NodeKind.FORMAL_DECL:
+			return i == 0 ? ((VarDecl)n).type : END;
+		case NodeKind.LOCAL_VAR_DECL:
+			switch (i) {
+			case 0: return ((VarDecl)n).type;
+			case 1: return ((LocalVarDecl)n).initExp;
+			}
+			return END;
+		case NodeKind.ARRAY_TYPE:
+			return i == 0 ? ((ArrayType)n).baseType : END;
+		case NodeKind.BLOCK:
+			return i == 0 ? ((Block)n).stmts : END;
+		case NodeKind.IF:
+			switch (i) {
+			case 0: return ((If)n).exp;
+			case 1: return ((If)n).trueStmt;
+			case 2: return ((If)n).falseStmt;
+			}
+			return END;
+		case NodeKind.WHILE:
+			switch (i) {
+			case 0: return ((While)n).exp;
+			case 1: return ((While)n).body;
+			}
+			return END;
+		case NodeKind.SWITCH:
+			switch (i) {
+			case 0: return ((Switch)n).exp;
+			case 1: return ((Switch)n).stmts;
+			}
+			return END;
+		case NodeKind.CASE:
+			return i == 0 ? ((Case)n).exp : END;
+		case NodeKind.ASSIGN:
+			switch (i) {
+			case 0: return ((Assign)n).lhs;
+			case 1: return ((Assign)n).rhs;
+			}
+			return END;
+		case NodeKind.CALL_STATEMENT:
+			return i == 0 ? ((CallStatement)n).callExp : END;
+		case NodeKind.LOCAL_DECL_STATEMENT:
+			return i == 0 ? ((LocalDeclStatement)n).localVarDecl : END;
+		case NodeKind.AND: case NodeKind.OR: case NodeKind.EQUALS:
+		case NodeKind.LESS_THAN: case NodeKind.GREATER_THAN:
+		case NodeKind.PLUS: case NodeKind.MINUS: case NodeKind.TIMES:
+		case NodeKind.DIVIDE: case NodeKind.REMAINDER:
+			switch (i) {
+			case 0: return ((BinExp)n).left;
+			case 1: return ((BinExp)n).right;
+			}
+			return END;
+		case NodeKind.NOT: case NodeKind.ARRAY_LENGTH:
+			return i == 0 ? ((UnExp)n).exp : END;
+		case NodeKind.ARRAY_LOOKUP:
+			switch (i) {
+			case 0: return ((ArrayLookup)n).arrExp;
+			case 1: return ((ArrayLookup)n).idxExp;
+			}
+			return END;
+		case NodeKind.CALL:
+			switch (i) {
+			case 0: return ((Call)n).obj;
+			case 1: return ((Call)n).parms;
+			}
+			return END;
+		case NodeKind.CAST:
+			switch (i) {
+			case 0: return ((Cast)n).castType;
+			case 1: return ((Cast)n).exp;
+			}
+			return END;
+		case NodeKind.INSTANCE_OF:
+			switch (i) {
+			case 0: return ((InstanceOf)n).exp;
+			case 1: return ((InstanceOf)n).checkType;
+			}
+			return END;
+		case NodeKind.INST_VAR_ACCESS:
+			return i == 0 ? ((InstVarAccess)n).exp : END;
+		case NodeKind.NEW_ARRAY:
+			switch (i) {
+			case 0: return ((NewArray)n).objType;
+			case 1: return ((NewArray)n).sizeExp;
+			}
+			return END;
+		case NodeKind.NEW_OBJECT:
+			return i == 0 ? ((NewObject)n).objType : END;
+		default: // no children
+			return END;
+		}
+	}
+
+	private static int[] grow(int[] arr) {
+		int[] rtnVal = new int[2*arr.length];
+		System.arraycopy(arr, 0, rtnVal, 0, arr.length);
+		return rtnVal;
+	}
+}
@@ -0,0 +1,165 @@
+package visitor;
+
+import syntaxtree.*;
+import java.util.*;
+
+/**
+ * the canonical Type objects of a compilation. There is one IntegerType,
+ * BooleanType, VoidType and NullType, one IdentifierType per class, and
+ * one ArrayType per base type, so two canonical types are the same type
+ * exactly when they are the same object.
+ *
+ * Like GlobalSymTab, the table comes in two layers: the shared one
+ * (see PredefinedClasses) holds the primitive types and the types of the
+ * predefined classes and is never modified, while a compilation's layer
+ * holds the types it creates itself.
+ */
+public class TypeTable {
+
+	private final TypeTable parent; // the shared layer; null if none
+
+	// the primitive types, shared by all layers
+	public final IntegerType intType;
+	public final BooleanType booleanType;
+	public final VoidType voidType;
+	public final NullType nullType;
+
+	// the type of each class, and the array type of each base type
+	private final IdentityHashMap<ClassDecl,IdentifierType> classTypes =
+		new IdentityHashMap<ClassDecl,IdentifierType>();
+	private final IdentityHashMap<Type,ArrayType> arrayTypes =
+		new IdentityHashMap<Type,ArrayType>();
+
+	// the compilation's class numbering; null in the shared layer
+	private final ClassHierarchy hierarchy;
+
+	/**
+	 * constructor. The table's types are created in the current thread's
+	 * AstContext.
+	 * @param parent the shared table underneath this one, or null
+	 * @param hierarchy the numbering of the compilation's classes, which
+	 *  answers subclass tests; null for the shared layer
+	 */
+	public TypeTable(TypeTable parent, ClassHierarchy hierarchy) {
+		this.parent = parent;
+		this.hierarchy = hierarchy;
+		if (parent == null) {
+			intType = new IntegerType(-1);
+			booleanType = new BooleanType(-1);
+			voidType = new VoidType(-1);
+			nullType = new NullType(-1);
+		}
+		else {
+			intType = parent.intType;
+			booleanType = parent.booleanType;
+			voidType = parent.voidType;
+			nullType = parent.nullType;
+		}
+	}
+
+	/**
+	 * @param decl a class declaration
+	 * @return the canonical type of the class's objects
+	 */
+	public IdentifierType classType(ClassDecl decl) {
+		IdentifierType rtnVal = classTypes.get(decl);
+		if (rtnVal == null && parent != null) {
+			rtnVal = parent.classTypes.get(decl);
+		}
+		if (rtnVal == null) {
+			rtnVal = new IdentifierType(-1, decl.name);
+			rtnVal.link = decl;
+			classTypes.put(decl, rtnVal);
+		}
+		return rtnVal;
+	}
+
+	/**
+	 * @param base a canonical type
+	 * @return the canonical type of arrays of base
+	 */
+	public ArrayType arrayOf(Type base) {
+		ArrayType rtnVal = arrayTypes.get(base);
+		if (rtnVal == null && parent != null) {
+			rtnVal = parent.arrayTypes.get(base);
+		}
+		if (rtnVal == null) {
+			rtnVal = new ArrayType(-1, base);
+			arrayTypes.put(base, rtnVal);
+		}
+		return rtnVal;
+	}
+
+	/**
+	 * maps a type written in the program (e.g., the type in a variable
+	 * declaration) to its canonical counterpart
+	 * @param t the type, with its class names resolved; or null
+	 * @return the canonical type, or null if t is null or names a class
+	 *  that was not resolved
+	 */
+	public Type canonical(Type t) {
+		if (t == null) return null;
+		switch (t.kind()) {
+			case NodeKind.INTEGER_TYPE: return intType;
+			case NodeKind.BOOLEAN_TYPE: return booleanType;
+			case NodeKind.VOID_TYPE: return voidType;
+			case NodeKind.NULL_TYPE: return nullType;
+			case NodeKind.IDENTIFIER_TYPE: {
+				ClassDecl decl = ((IdentifierType)t).link;
+				return decl == null ? null : classType(decl);
+			}
+			case NodeKind.ARRAY_TYPE: {
+				Type base = canonical(((ArrayType)t).baseType);
+				return base == null ? null : arrayOf(base);
+			}
+			default: return null;
+		}
+	}
+
+	/**
+	 * @param t a canonical type
+	 * @return whether values of the type are object references
+	 */
+	public boolean isReference(Type t) {
+		return t instanceof IdentifierType || t instanceof ArrayType || t == nullType;
+	}
+
+	/**
+	 * tells whether a value of one canonical type may be stored in a
+	 * variable of another: a type is assignable to itself; null to any
+	 * reference type; a class to its superclasses; and an array to Object.
+	 * @param from the type of the value
+	 * @param to the type of the variable
+	 * @return whether the assignment is allowed
+	 */
+	public boolean isAssignable(Type from, Type to) {
+		if (from == to) {
+			return from != voidType;
+		}
+		else if (from == nullType) {
+			return to instanceof IdentifierType || to instanceof ArrayType;
+		}
+		else if (!(to instanceof IdentifierType)) {
+			return false;
+		}
+		ClassDecl toClass = ((IdentifierType)to).link;
+		if (from instanceof ArrayType) {
+			return toClass.superLink == null; // i.e., Object
+		}
+		else if (from instanceof IdentifierType) {
+			return isSubclass(((IdentifierType)from).link, toClass);
+		}
+		return false;
+	}
+
+	/**
+	 * tells whether one class is the same as, or a (direct or indirect)
+	 * subclass of, another
+	 * @param sub the possible subclass
+	 * @param sup the possible superclass
+	 * @return whether sub is sup or one of its subclasses
+	 */
+	public boolean isSubclass(ClassDecl sub, ClassDecl sup) {
+		return hierarchy.isSubclass(sub, sup);
+	}
+}
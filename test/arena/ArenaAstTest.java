@@ -0,0 +1,297 @@
+package arena;
+
+import java.io.*;
+import java.util.Arrays;
+
+import errorMsg.ErrorMsg;
+import parse.*;
+import syntaxtree.*;
+import treedisplay.TreeDrawer;
+import visitor.*;
+
+/**
+ * checks that an ArenaAst holds the whole parsed tree, and measures it.
+ * For each file, the parsed tree is encoded, and then
+ * - walking the arena must reach the same nodes, with the same kinds and
+ *   positions, in the same order, as a TreeWalker on the object tree;
+ * - decoding the arena in a fresh context must give a tree whose -p
+ *   output is the same as the original's, node IDs included;
+ * - the decoded tree must encode to the same arena;
+ * - a visitor run over the classes with visitClasses must see the same
+ *   nodes, in the same order, as when it is run over the original classes.
+ * It then prints the size of the object tree (as measured on the heap)
+ * and of the arena, the most that visitClasses has decoded at once (the
+ * largest class), and the time to walk the tree and the arena.
+ *
+ * Run from the project directory, with the compiler's classes, lib and
+ * the wrangLR jar on the class path:
+ * <pre>
+ *   java arena.ArenaAstTest [file ...]
+ * </pre>
+ * Without arguments, the sample files in the project directory are used.
+ * The exit status is 1 if any check fails.
+ */
+public class ArenaAstTest {
+
+	private static final String[] DEFAULT_FILES =
+		{"HW3Test.java", "TestSimp.java", "MiniJHW3.java"};
+
+	public static void main(String[] args) throws IOException {
+		String[] files = args.length == 0 ? DEFAULT_FILES : args;
+		int failures = 0;
+		for (String file : files) {
+			if (!check(file)) failures++;
+		}
+		System.out.println(failures == 0 ? "all files passed" : failures+" file(s) failed");
+		System.exit(failures == 0 ? 0 : 1);
+	}
+
+	private static boolean check(String file) throws IOException {
+		AstContext ctx = new AstContext(PredefinedClasses.context());
+		AstContext outer = AstContext.enter(ctx);
+		AstNode ast;
+		try {
+			ast = parse(file);
+		}
+		finally {
+			AstContext.exit(outer);
+		}
+		if (ast == null) {
+			System.out.println(file+": FAILED: could not be parsed");
+			return false;
+		}
+		ArenaAst arena = ArenaAst.encode(ast);
+		boolean ok = true;
+
+		// the arena walk against the object walk
+		int[] objectEvents = objectWalk(ast);
+		int[] arenaEvents = arenaWalk(arena);
+		if (!Arrays.equals(objectEvents, arenaEvents)) {
+			System.out.println(file+": FAILED: arena walk differs from object walk");
+			ok = false;
+		}
+
+		// decoding, in a context that hands out the same IDs as the parse
+		AstNode decoded;
+		outer = AstContext.enter(new AstContext(PredefinedClasses.context()));
+		try {
+			decoded = arena.toAst();
+		}
+		finally {
+			AstContext.exit(outer);
+		}
+		if (!print(ast).equals(print(decoded))) {
+			System.out.println(file+": FAILED: -p output of decoded tree differs");
+			ok = false;
+		}
+		if (!Arrays.equals(arenaEvents, arenaWalk(ArenaAst.encode(decoded)))) {
+			System.out.println(file+": FAILED: re-encoded tree differs");
+			ok = false;
+		}
+
+		// the per-class view against the original classes
+		Recorder original = new Recorder();
+		for (ClassDecl c : ((Program)ast).classDecls) {
+			c.accept(original);
+		}
+		Recorder perClass = new Recorder();
+		outer = AstContext.enter(new AstContext(PredefinedClasses.context()));
+		try {
+			arena.visitClasses(perClass);
+		}
+		finally {
+			AstContext.exit(outer);
+		}
+		if (!Arrays.equals(original.events.toArray(), perClass.events.toArray())) {
+			System.out.println(file+": FAILED: visitClasses differs from visiting the classes");
+			ok = false;
+		}
+		if (ok) {
+			System.out.println(file+": ok, "+arena.size()+" arena nodes");
+			measure(arena);
+		}
+		return ok;
+	}
+
+	// parses a file, with the scanner run to completion before the parser
+	private static AstNode parse(String file) throws IOException {
+		ErrorMsg errorMsg = new ErrorMsg(file);
+		ByteArrayOutputStream tokens = new ByteArrayOutputStream();
+		InputStream in = new BufferedInputStream(new FileInputStream(file));
+		try {
+			new MJScannerParseTable(new MJScanner(errorMsg, tokens)).parse(in,0,false);
+		}
+		finally {
+			in.close();
+		}
+		MJGrammar mj = new MJGrammar(errorMsg);
+		new MJGrammarParseTable(mj).parse(new ByteArrayInputStream(tokens.toByteArray()),0,false);
+		return errorMsg.anyErrors ? null : mj.parseResult();
+	}
+
+	private static String print(AstNode ast) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		PrintStream ps = new PrintStream(bytes);
+		new TreeDrawer(ast, null).printToStream(ps);
+		ps.flush();
+		return bytes.toString();
+	}
+
+	// the events of a walk, three ints each: 1 (pre) or 2 (post), the
+	// node's kind, and its position
+	private static class Events {
+		int[] events = new int[1024];
+		int size;
+
+		void add(int what, int kind, int pos) {
+			if (size + 3 > events.length) {
+				events = Arrays.copyOf(events, 2*events.length);
+			}
+			events[size++] = what;
+			events[size++] = kind;
+			events[size++] = pos;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(events, size);
+		}
+	}
+
+	// the walk of an object tree, leaving out the main statement that the
+	// Program constructor makes up, which is not part of the arena
+	private static int[] objectWalk(final AstNode root) {
+		final Events ev = new Events();
+		final Statement mainStatement = ((Program)root).mainStatement;
+		new TreeWalker(new TraversalHooks() {
+			public boolean pre(AstNode n) {
+				if (n == mainStatement) return false;
+				ev.add(1, n.kind(), n.pos);
+				return true;
+			}
+			public void post(AstNode n) {
+				if (n == mainStatement) return;
+				ev.add(2, n.kind(), n.pos);
+			}
+		}).walk(root);
+		return ev.toArray();
+	}
+
+	// records the kind and position of each node a visitor reaches,
+	// in the order in which it reaches them
+	private static class Recorder extends ASTvisitor {
+		Events events = new Events();
+
+		@Override
+		public Object visitAstNode(AstNode n) {
+			events.add(1, n.kind(), n.pos);
+			return null;
+		}
+	}
+
+	private static int[] arenaWalk(final ArenaAst arena) {
+		final Events ev = new Events();
+		arena.walk(0, new ArenaHooks() {
+			public boolean pre(int i) {
+				ev.add(1, arena.kind(i), arena.pos(i));
+				return true;
+			}
+			public void post(int i) {
+				ev.add(2, arena.kind(i), arena.pos(i));
+			}
+		});
+		return ev.toArray();
+	}
+
+	/************************ measurement ************************/
+
+	// counts the nodes of an object tree
+	private static class ObjectCounter implements TraversalHooks {
+		int count;
+		public boolean pre(AstNode n) {
+			count++;
+			return true;
+		}
+		public void post(AstNode n) {
+		}
+	}
+
+	// counts the nodes of an arena
+	private static class ArenaCounter implements ArenaHooks {
+		int count;
+		public boolean pre(int i) {
+			count++;
+			return true;
+		}
+		public void post(int i) {
+		}
+	}
+
+	private static void measure(ArenaAst arena) {
+		// the object tree's size: the heap it takes when it is decoded
+		long before = usedHeap();
+		AstNode tree;
+		AstContext outer = AstContext.enter(new AstContext(PredefinedClasses.context()));
+		try {
+			tree = arena.toAst();
+		}
+		finally {
+			AstContext.exit(outer);
+		}
+		long objectBytes = usedHeap() - before;
+		long arenaBytes = arena.arrayBytes();
+		System.out.printf("  object tree %d bytes, arena %d bytes (%.1fx smaller)%n",
+				objectBytes, arenaBytes, (double)objectBytes / arenaBytes);
+
+		// the most that visitClasses holds at once: the largest class
+		int largest = -1;
+		for (int c = 1; c < arena.end(0); c = arena.end(c)) {
+			if (largest < 0 || arena.end(c) - c > arena.end(largest) - largest) {
+				largest = c;
+			}
+		}
+		if (largest >= 0) {
+			before = usedHeap();
+			AstNode cls;
+			outer = AstContext.enter(new AstContext(PredefinedClasses.context()));
+			try {
+				cls = arena.decode(largest);
+			}
+			finally {
+				AstContext.exit(outer);
+			}
+			long classBytes = usedHeap() - before;
+			System.out.printf("  visitClasses: arena plus the largest class %d bytes "+
+					"(%.1fx less than arena plus tree)%n", arenaBytes + classBytes,
+					(double)(arenaBytes + objectBytes) / (arenaBytes + classBytes));
+			cls.hashCode(); // keep it alive through the measurement
+		}
+
+		// the time to walk each, after warming up
+		TreeWalker walker = new TreeWalker(new ObjectCounter());
+		ArenaCounter arenaCounter = new ArenaCounter();
+		int reps = Math.max(1, 2000000 / arena.size());
+		for (int round = 0; round < 2; round++) {
+			long t0 = System.nanoTime();
+			for (int i = 0; i < reps; i++) {
+				walker.walk(tree);
+			}
+			long t1 = System.nanoTime();
+			for (int i = 0; i < reps; i++) {
+				arena.walk(0, arenaCounter);
+			}
+			long t2 = System.nanoTime();
+			if (round == 1) {
+				System.out.printf("  walk: objects %.1f us, arena %.1f us%n",
+						(t1-t0) / 1e3 / reps, (t2-t1) / 1e3 / reps);
+			}
+		}
+	}
+
+	private static long usedHeap() {
+		Runtime rt = Runtime.getRuntime();
+		for (int i = 0; i < 4; i++) {
+			System.gc();
+		}
+		return rt.totalMemory() - rt.freeMemory();
+	}
+}
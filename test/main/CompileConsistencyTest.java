@@ -0,0 +1,259 @@
+package main;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * checks that compiling a file inside a long-lived JVM -- through a
+ * CompileServer, or a BatchCompiler -- gives exactly the output of
+ * compiling it on its own, in a fresh JVM. Each file is compiled several
+ * times in the same JVM, so that anything one compilation leaves behind
+ * (e.g., in the shared predefined classes, or in node IDs and names)
+ * would show up in the next.
+ *
+ * The files are the sample files in the project directory, the bench
+ * programs, a generated file with scanner and syntax errors, and a
+ * generated program that prints lines looking like the server's own
+ * framing; each is compiled with no switches, with -p, and with -pp -x. A
+ * fresh JVM writes its diagnostics and summary to standard error and its
+ * AST and program output to standard output. The server writes both to its
+ * response, the diagnostics first; the batch compiler writes each to the
+ * same stream as the fresh JVM, one file after another.
+ *
+ * Run from the project directory, with the compiler's classes, lib and
+ * the wrangLR jar on the class path:
+ * <pre>
+ *   java main.CompileConsistencyTest
+ * </pre>
+ * The exit status is 1 if any check fails.
+ */
+public class CompileConsistencyTest {
+
+	private static final String[] FILES = {
+		"HW3Test.java", "TestSimp.java", "MiniJHW3.java",
+		"bench/Fib.java", "bench/Switch.java",
+	};
+
+	private static final String[][] SWITCHES = {
+		{}, {"-p"}, {"-pp", "-x"},
+	};
+
+	private static final int REPEATS = 2; // compilations per JVM
+
+	private static int failures = 0;
+
+	// a compilation's output in a fresh JVM
+	private static class Result {
+		String out;
+		String diag;
+	}
+
+	public static void main(String[] args) throws Exception {
+		List<String> files = new ArrayList<String>(Arrays.asList(FILES));
+		File bad = File.createTempFile("BadSyntax", ".java");
+		bad.deleteOnExit();
+		writeBadFile(bad);
+		files.add(bad.getPath());
+		File framing = File.createTempFile("Framing", ".java");
+		framing.deleteOnExit();
+		writeFramingFile(framing);
+		files.add(framing.getPath());
+
+		for (String[] switches : SWITCHES) {
+			Map<String,Result> fresh = new LinkedHashMap<String,Result>();
+			for (String file : files) {
+				fresh.put(file, runFresh(switches, file));
+			}
+			checkServer(switches, fresh);
+			checkBatch(switches, fresh);
+		}
+		System.out.println(failures == 0 ? "all checks passed" : failures+" check(s) failed");
+		System.exit(failures == 0 ? 0 : 1);
+	}
+
+	// a file with scanner errors (bad characters) and a syntax error
+	private static void writeBadFile(File f) throws IOException {
+		PrintStream ps = new PrintStream(new FileOutputStream(f));
+		ps.println("class Main {");
+		ps.println("  public void main() {");
+		ps.println("    int x = 3 # 4;");
+		ps.println("    int y = ;");
+		ps.println("    int z = 5 $ 6;");
+		ps.println("  }");
+		ps.println("}");
+		ps.close();
+	}
+
+	// a program whose output looks like the lines that frame a response
+	private static void writeFramingFile(File f) throws IOException {
+		PrintStream ps = new PrintStream(new FileOutputStream(f));
+		ps.println("class Main {");
+		ps.println("  public void main() {");
+		ps.println("    new Framing().run();");
+		ps.println("  }");
+		ps.println("}");
+		ps.println("class Framing extends Lib {");
+		ps.println("  public void run() {");
+		ps.println("    printStr(\"#done 0\\n\");");
+		ps.println("    printStr(\"#output 3\\n\");");
+		ps.println("    printStr(\"#done 1\\n\");");
+		ps.println("  }");
+		ps.println("}");
+		ps.close();
+	}
+
+	private static Result runFresh(String[] switches, String file) throws Exception {
+		List<String> cmd = new ArrayList<String>();
+		cmd.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+		cmd.add("-cp");
+		cmd.add(System.getProperty("java.class.path"));
+		cmd.add("main.Main3");
+		cmd.addAll(Arrays.asList(switches));
+		cmd.add(file);
+		File outFile = File.createTempFile("fresh", ".out");
+		File diagFile = File.createTempFile("fresh", ".err");
+		try {
+			Process p = new ProcessBuilder(cmd)
+				.redirectOutput(outFile)
+				.redirectError(diagFile)
+				.start();
+			p.getOutputStream().close();
+			p.waitFor();
+			Result rtnVal = new Result();
+			rtnVal.out = read(outFile);
+			rtnVal.diag = read(diagFile);
+			return rtnVal;
+		}
+		finally {
+			outFile.delete();
+			diagFile.delete();
+		}
+	}
+
+	private static void checkServer(String[] switches, Map<String,Result> fresh) {
+		StringBuilder requests = new StringBuilder();
+		List<String> expected = new ArrayList<String>();
+		for (int rep = 0; rep < REPEATS; rep++) {
+			for (Map.Entry<String,Result> e : fresh.entrySet()) {
+				for (String s : switches) {
+					requests.append(s).append(' ');
+				}
+				requests.append(e.getKey()).append('\n');
+				expected.add(e.getValue().diag + e.getValue().out);
+			}
+		}
+		ByteArrayOutputStream response = new ByteArrayOutputStream();
+		PrintStream ps = new PrintStream(response);
+		new CompileServer(new ByteArrayInputStream(requests.toString().getBytes()), ps).serve();
+		ps.flush();
+
+		// take the response apart by its "#output" lengths
+		String what = "server "+Arrays.toString(switches);
+		List<String> actual = new ArrayList<String>();
+		byte[] bytes = response.toByteArray();
+		int pos = 0;
+		while (pos < bytes.length) {
+			String header = readLine(bytes, pos);
+			pos += header.length();
+			String[] fields = header.trim().split(" ");
+			if (fields.length != 2 || !fields[0].equals(CompileServer.OUTPUT_MARKER)) {
+				fail(what, "expected an "+CompileServer.OUTPUT_MARKER+" line, got: "+header.trim());
+				return;
+			}
+			int len = Integer.parseInt(fields[1]);
+			if (pos + len > bytes.length) {
+				fail(what, "response ends inside an output");
+				return;
+			}
+			actual.add(new String(bytes, pos, len));
+			pos += len;
+			String trailer = readLine(bytes, pos);
+			pos += trailer.length();
+			if (!trailer.startsWith(CompileServer.DONE_MARKER+" ")) {
+				fail(what, "expected a "+CompileServer.DONE_MARKER+" line, got: "+trailer.trim());
+				return;
+			}
+		}
+		if (actual.size() != expected.size()) {
+			fail(what, "got "+actual.size()+" responses, expected "+expected.size());
+			return;
+		}
+		int i = 0;
+		for (int rep = 0; rep < REPEATS; rep++) {
+			for (String file : fresh.keySet()) {
+				if (!actual.get(i).equals(expected.get(i))) {
+					fail(what, file+", compilation "+(rep+1)+": output differs from a fresh JVM");
+				}
+				i++;
+			}
+		}
+	}
+
+	private static void checkBatch(String[] switches, Map<String,Result> fresh) {
+		// every file twice in one batch, and the batch twice
+		List<String> args = new ArrayList<String>(Arrays.asList(switches));
+		StringBuilder expectedOut = new StringBuilder();
+		StringBuilder expectedDiag = new StringBuilder();
+		for (int rep = 0; rep < REPEATS; rep++) {
+			for (Map.Entry<String,Result> e : fresh.entrySet()) {
+				args.add(e.getKey());
+				expectedOut.append(e.getValue().out);
+				expectedDiag.append(e.getValue().diag);
+			}
+		}
+		String what = "batch "+Arrays.toString(switches);
+		for (int run = 0; run < REPEATS; run++) {
+			Main3 settings = new Main3();
+			settings.parseCommandLine(args.toArray(new String[args.size()]));
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			ByteArrayOutputStream diag = new ByteArrayOutputStream();
+			PrintStream oldOut = System.out;
+			PrintStream oldErr = System.err;
+			System.setOut(new PrintStream(out));
+			System.setErr(new PrintStream(diag));
+			try {
+				new BatchCompiler(settings, 4).compileAll();
+			}
+			finally {
+				System.out.flush();
+				System.err.flush();
+				System.setOut(oldOut);
+				System.setErr(oldErr);
+			}
+			if (!out.toString().equals(expectedOut.toString())) {
+				fail(what, "run "+(run+1)+": output differs from fresh JVMs");
+			}
+			if (!diag.toString().equals(expectedDiag.toString())) {
+				fail(what, "run "+(run+1)+": diagnostics differ from fresh JVMs");
+			}
+		}
+	}
+
+	private static void fail(String what, String msg) {
+		System.out.println(what+": FAILED: "+msg);
+		failures++;
+	}
+
+	// the line starting at pos, with its newline
+	private static String readLine(byte[] bytes, int pos) {
+		int end = pos;
+		while (end < bytes.length && bytes[end] != '\n') end++;
+		if (end < bytes.length) end++;
+		return new String(bytes, pos, end - pos);
+	}
+
+	private static String read(File f) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		InputStream in = new FileInputStream(f);
+		try {
+			byte[] buf = new byte[8192];
+			for (int n; (n = in.read(buf)) > 0; ) {
+				bytes.write(buf, 0, n);
+			}
+		}
+		finally {
+			in.close();
+		}
+		return bytes.toString();
+	}
+}
@@ -0,0 +1,155 @@
+package visitor;
+
+import java.io.*;
+import java.util.*;
+
+import errorMsg.ErrorMsg;
+import parse.*;
+import syntaxtree.*;
+
+/**
+ * checks that a KindDispatcher sends every node to the visit method for
+ * its class. Each file is parsed, and every node of the tree is
+ * dispatched by a dispatcher that overrides one visit method from each
+ * group of node classes (declarations, types, statements, expressions)
+ * and counts the nodes that each override receives, and those that reach
+ * visitNode. The counts must match the classes of the nodes in the tree:
+ * each overridden class exactly at its override, and everything else --
+ * lists included -- at visitNode. A node sent to the wrong method would
+ * fail its cast in dispatch.
+ *
+ * Run from the project directory, with the compiler's classes, lib and
+ * the wrangLR jar on the class path:
+ * <pre>
+ *   java visitor.KindDispatcherTest [file ...]
+ * </pre>
+ * Without arguments, the sample files in the project directory and the
+ * bench programs are used. The exit status is 1 if any check fails.
+ */
+public class KindDispatcherTest {
+
+	private static final String[] DEFAULT_FILES = {
+		"HW3Test.java", "TestSimp.java", "MiniJHW3.java",
+		"bench/Fib.java", "bench/Switch.java",
+	};
+
+	// the classes whose visit methods the Recorder overrides
+	private static final Class<?>[] OVERRIDDEN = {
+		ClassDecl.class, MethodDeclNonVoid.class, ArrayType.class,
+		While.class, Switch.class, Plus.class, Call.class,
+		IntegerLiteral.class, Null.class, This.class,
+	};
+
+	public static void main(String[] args) throws IOException {
+		String[] files = args.length == 0 ? DEFAULT_FILES : args;
+		int failures = 0;
+		for (String file : files) {
+			if (!check(file)) failures++;
+		}
+		System.out.println(failures == 0 ? "all files passed" : failures+" file(s) failed");
+		System.exit(failures == 0 ? 0 : 1);
+	}
+
+	private static boolean check(String file) throws IOException {
+		AstContext outer = AstContext.enter(new AstContext(PredefinedClasses.context()));
+		AstNode ast;
+		try {
+			ast = parse(file);
+		}
+		finally {
+			AstContext.exit(outer);
+		}
+		if (ast == null) {
+			System.out.println(file+": FAILED: could not be parsed");
+			return false;
+		}
+
+		// what the dispatcher should see, by the nodes' classes
+		final Map<Class<?>,Integer> expected = new HashMap<Class<?>,Integer>();
+		final Set<Class<?>> overridden = new HashSet<Class<?>>(Arrays.asList(OVERRIDDEN));
+		final Recorder recorder = new Recorder();
+		new TreeWalker(new TraversalHooks() {
+			public boolean pre(AstNode n) {
+				Class<?> c = overridden.contains(n.getClass()) ? n.getClass() : AstNode.class;
+				Integer count = expected.get(c);
+				expected.put(c, count == null ? 1 : count + 1);
+				recorder.dispatch(n);
+				return true;
+			}
+			public void post(AstNode n) {
+			}
+		}).walk(ast);
+
+		if (!recorder.counts.equals(expected)) {
+			System.out.println(file+": FAILED: dispatched "+recorder.counts+", expected "+expected);
+			return false;
+		}
+		int nodes = 0;
+		for (int count : expected.values()) {
+			nodes += count;
+		}
+		System.out.println(file+": ok, "+nodes+" nodes");
+		return true;
+	}
+
+	// counts the nodes that reach each override, and visitNode
+	private static class Recorder extends KindDispatcher {
+		Map<Class<?>,Integer> counts = new HashMap<Class<?>,Integer>();
+
+		private Object count(Class<?> c) {
+			Integer count = counts.get(c);
+			counts.put(c, count == null ? 1 : count + 1);
+			return null;
+		}
+
+		protected Object visitNode(AstNode n) {
+			return count(AstNode.class);
+		}
+		protected Object visitClassDecl(ClassDecl n) {
+			return count(ClassDecl.class);
+		}
+		protected Object visitMethodDeclNonVoid(MethodDeclNonVoid n) {
+			return count(MethodDeclNonVoid.class);
+		}
+		protected Object visitArrayType(ArrayType n) {
+			return count(ArrayType.class);
+		}
+		protected Object visitWhile(While n) {
+			return count(While.class);
+		}
+		protected Object visitSwitch(Switch n) {
+			return count(Switch.class);
+		}
+		protected Object visitPlus(Plus n) {
+			return count(Plus.class);
+		}
+		protected Object visitCall(Call n) {
+			return count(Call.class);
+		}
+		protected Object visitIntegerLiteral(IntegerLiteral n) {
+			return count(IntegerLiteral.class);
+		}
+		protected Object visitNull(Null n) {
+			return count(Null.class);
+		}
+		protected Object visitThis(This n) {
+			return count(This.class);
+		}
+	}
+
+	// parses a file, with the scanner run to completion before the parser
+	private static AstNode parse(String file) throws IOException {
+		ErrorMsg errorMsg = new ErrorMsg(file);
+		ByteArrayOutputStream tokens = new ByteArrayOutputStream();
+		InputStream in = new BufferedInputStream(new FileInputStream(file));
+		try {
+			new MJScannerParseTable(new MJScanner(errorMsg, tokens)).parse(in,0,false);
+		}
+		finally {
+			in.close();
+		}
+		MJGrammar mj = new MJGrammar(errorMsg);
+		new MJGrammarParseTable(mj).parse(new ByteArrayInputStream(tokens.toByteArray()),0,false);
+		return errorMsg.anyErrors ? null : mj.parseResult();
+	}
+}
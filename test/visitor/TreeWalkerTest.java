@@ -0,0 +1,147 @@
+package visitor;
+
+import java.io.*;
+import java.util.Arrays;
+
+import errorMsg.ErrorMsg;
+import parse.*;
+import syntaxtree.*;
+
+/**
+ * checks that a TreeWalker makes the same calls whether it recurses on
+ * the Java stack, uses its own stack, or switches from one to the other
+ * part of the way down, and that it can walk a tree far deeper than the
+ * Java stack allows. For each file, the parsed tree is walked with no
+ * recursion, with the default limit, with a limit of a few levels, and
+ * with no limit; the pre and post calls of each walk must be the same.
+ * A chain of 200000 '+' expressions, built directly (the parser would take
+ * far too long on it), is then walked with the default limit.
+ *
+ * Run from the project directory, with the compiler's classes, lib and
+ * the wrangLR jar on the class path:
+ * <pre>
+ *   java visitor.TreeWalkerTest [file ...]
+ * </pre>
+ * Without arguments, the sample files in the project directory and the
+ * bench programs are used. The exit status is 1 if any check fails.
+ */
+public class TreeWalkerTest {
+
+	private static final String[] DEFAULT_FILES = {
+		"HW3Test.java", "TestSimp.java", "MiniJHW3.java",
+		"bench/Fib.java", "bench/Switch.java",
+	};
+
+	private static final int[] LIMITS = {
+		0, TreeWalker.DEFAULT_MAX_RECURSION, 3, Integer.MAX_VALUE,
+	};
+
+	private static final int DEEP_CHAIN = 200000;
+
+	public static void main(String[] args) throws IOException {
+		String[] files = args.length == 0 ? DEFAULT_FILES : args;
+		int failures = 0;
+		for (String file : files) {
+			if (!check(file)) failures++;
+		}
+		if (!checkDeep()) failures++;
+		System.out.println(failures == 0 ? "all checks passed" : failures+" check(s) failed");
+		System.exit(failures == 0 ? 0 : 1);
+	}
+
+	private static boolean check(String file) throws IOException {
+		AstContext outer = AstContext.enter(new AstContext(PredefinedClasses.context()));
+		AstNode ast;
+		try {
+			ast = parse(file);
+		}
+		finally {
+			AstContext.exit(outer);
+		}
+		if (ast == null) {
+			System.out.println(file+": FAILED: could not be parsed");
+			return false;
+		}
+		int[] first = walk(ast, LIMITS[0]);
+		for (int i = 1; i < LIMITS.length; i++) {
+			if (!Arrays.equals(first, walk(ast, LIMITS[i]))) {
+				System.out.println(file+": FAILED: walk with a limit of "+LIMITS[i]+
+						" differs from a walk with no recursion");
+				return false;
+			}
+		}
+		System.out.println(file+": ok, "+first.length/2+" calls");
+		return true;
+	}
+
+	private static boolean checkDeep() {
+		AstContext outer = AstContext.enter(new AstContext(PredefinedClasses.context()));
+		Exp chain;
+		try {
+			chain = new IntegerLiteral(0, 0);
+			for (int i = 1; i < DEEP_CHAIN; i++) {
+				chain = new Plus(i, chain, new IntegerLiteral(i, i));
+			}
+		}
+		finally {
+			AstContext.exit(outer);
+		}
+		int[] events;
+		try {
+			events = walk(chain, TreeWalker.DEFAULT_MAX_RECURSION);
+		}
+		catch (StackOverflowError e) {
+			System.out.println("deep chain: FAILED: stack overflow");
+			return false;
+		}
+		// each Plus and each literal is entered and left once
+		int expected = 2 * (2*DEEP_CHAIN - 1);
+		if (events.length / 2 != expected) {
+			System.out.println("deep chain: FAILED: "+events.length/2+" calls, expected "+expected);
+			return false;
+		}
+		System.out.println("deep chain: ok, "+DEEP_CHAIN+" levels");
+		return true;
+	}
+
+	// the calls of a walk, two ints each: 1 (pre) or 2 (post), and the
+	// node's ID; pre skips the children of every third Call
+	private static int[] walk(AstNode root, int maxRecursion) {
+		final int[][] events = {new int[1024]};
+		final int[] size = {0};
+		new TreeWalker(new TraversalHooks() {
+			private int calls;
+			public boolean pre(AstNode n) {
+				add(1, n.uniqueId);
+				return n.kind() != NodeKind.CALL || calls++ % 3 != 0;
+			}
+			public void post(AstNode n) {
+				add(2, n.uniqueId);
+			}
+			private void add(int what, int id) {
+				if (size[0] + 2 > events[0].length) {
+					events[0] = Arrays.copyOf(events[0], 2*events[0].length);
+				}
+				events[0][size[0]++] = what;
+				events[0][size[0]++] = id;
+			}
+		}, maxRecursion).walk(root);
+		return Arrays.copyOf(events[0], size[0]);
+	}
+
+	// parses a file, with the scanner run to completion before the parser
+	private static AstNode parse(String file) throws IOException {
+		ErrorMsg errorMsg = new ErrorMsg(file);
+		ByteArrayOutputStream tokens = new ByteArrayOutputStream();
+		InputStream in = new BufferedInputStream(new FileInputStream(file));
+		try {
+			new MJScannerParseTable(new MJScanner(errorMsg, tokens)).parse(in,0,false);
+		}
+		finally {
+			in.close();
+		}
+		MJGrammar mj = new MJGrammar(errorMsg);
+		new MJGrammarParseTable(mj).parse(new ByteArrayInputStream(tokens.toByteArray()),0,false);
+		return errorMsg.anyErrors ? null : mj.parseResult();
+	}
+}